@@ -0,0 +1,215 @@
+package com.psc.sw.website.component;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit for the /sheet and /sw endpoints, which all block on remote APIs.
+ * The limit follows a gradient on observed latency: the short-term average latency is compared with a slowly
+ * moving long-term baseline; while latency stays near the baseline the limit grows, and when requests queue up
+ * downstream (latency rises, or the tenant limiter answers 429/503) it shrinks. Requests over the limit are
+ * rejected immediately with 503 and Retry-After instead of piling up on servlet threads.
+ * Priorities share the one limit: each class may only use a fraction of it, so structural sheet edits are shed
+ * first, then reads, and conversion ingestion last.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final int SAMPLE_WINDOW = 50;           // Completed requests per limit update
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_SMOOTHING = 0.02; // Long-term latency follows slowly
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Limit state, updated under the monitor once per sample window
+    private volatile double limit;
+    private volatile double baselineNanos;
+    private long windowNanos;
+    private int windowSamples;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyFilter(@Value("${concurrency-limit.enabled:true}") boolean enabled,
+                                     @Value("${concurrency-limit.initial:20}") int initialLimit,
+                                     @Value("${concurrency-limit.min:4}") int minLimit,
+                                     @Value("${concurrency-limit.max:200}") int maxLimit,
+                                     @Value("${concurrency-limit.tolerance:1.5}") double tolerance) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Request classes, highest first. A class may only be admitted while fewer than its share of the limit is in use.
+     */
+    enum Priority {
+        CRITICAL(1.0),  // Conversion ingestion
+        READ(0.9),      // Sheet reads, queries, exports
+        EDIT(0.6);      // Structural sheet edits, cell updates, imports
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !(path.startsWith("/sheet") || path.startsWith("/sw"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        int current = inFlight.incrementAndGet();
+        if (current > Math.max(1, (int) (limit * priority.share))) {
+            inFlight.decrementAndGet();
+            reject(response, priority);
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        boolean sampled = !isExport(request); // Streaming exports run as long as the file is large
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // StreamingResponseBody and other async responses hold their slot until the response completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(released, start, sampled, response.getStatus());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release(released, start, sampled, HttpStatus.SERVICE_UNAVAILABLE.value());
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release(released, start, sampled, response.getStatus());
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release(released, start, sampled, response.getStatus());
+            }
+        }
+    }
+
+    /**
+     * @return The current concurrency limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Requests currently admitted
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private static Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/sw")) {
+            return Priority.CRITICAL;
+        }
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
+            return Priority.READ;
+        }
+        return Priority.EDIT;
+    }
+
+    private static boolean isExport(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/sheet/export");
+    }
+
+    private void release(AtomicBoolean released, long start, boolean sampled, int status) {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        if (sampled) {
+            boolean dropped = status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+            onSample(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private synchronized void onSample(long latencyNanos, boolean dropped) {
+        windowNanos += latencyNanos;
+        windowSamples++;
+        windowDropped |= dropped;
+        if (windowSamples < SAMPLE_WINDOW) {
+            return;
+        }
+        double shortNanos = (double) windowNanos / windowSamples;
+        windowNanos = 0;
+        windowSamples = 0;
+
+        double newLimit;
+        if (windowDropped) {
+            newLimit = limit * DROP_BACKOFF; // Downstream is already shedding load
+            windowDropped = false;
+        } else {
+            if (baselineNanos == 0) {
+                baselineNanos = shortNanos;
+            }
+            // 1.0 while latency is within tolerance of the baseline, down to 0.5 as requests start queueing
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / shortNanos));
+            double queueAllowance = Math.sqrt(limit);
+            newLimit = limit * gradient + queueAllowance;
+            newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        }
+        baselineNanos = baselineNanos * (1 - BASELINE_SMOOTHING) + shortNanos * BASELINE_SMOOTHING;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if ((int) newLimit != (int) limit) {
+            log.debug("Concurrency limit {} -> {} (latency {} ms, baseline {} ms)", (int) limit, (int) newLimit,
+                    (long) (shortNanos / 1_000_000), (long) (baselineNanos / 1_000_000));
+        }
+        limit = newLimit;
+    }
+
+    private void reject(HttpServletResponse response, Priority priority) throws IOException {
+        // Clients should come back after roughly one baseline latency; Retry-After has a resolution of seconds
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(baselineNanos / 1_000_000_000.0));
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":\"error\",\"message\":\"Server is overloaded, retry later\"}");
+        log.debug("Rejected {} request: {} in flight, limit {}", priority, inFlight.get(), (int) limit);
+    }
+}
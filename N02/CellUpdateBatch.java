@@ -0,0 +1,37 @@
+package com.psc.sw.website.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request body for POST /sheet/updateCells: several cell edits of one sheet sent together.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class CellUpdateBatch {
+
+    private String sheetName;
+    private List<CellEdit> edits = new ArrayList<>();
+
+    /**
+     * A single cell edit (0-based indices).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @ToString
+    public static class CellEdit {
+        private int rowIndex;
+        private int colIndex;
+        private String newValue;
+    }
+}
@@ -0,0 +1,61 @@
+package com.psc.sw.website.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk import started with POST /sheet/import (serialized as the job status response).
+ */
+@Getter
+@ToString
+public class ImportJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    @JsonIgnore
+    private final String spreadsheetId; // Internal; the job is only shown to members of the spreadsheet's tenant
+    private final String sheetName;
+    private final String fileName;
+    private final long startedAtMillis = System.currentTimeMillis();
+    @JsonIgnore
+    private final AtomicLong rowsReadCounter = new AtomicLong();
+    @JsonIgnore
+    private final AtomicLong rowsWrittenCounter = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+    private volatile long finishedAtMillis;
+
+    public ImportJob(String id, String spreadsheetId, String sheetName, String fileName) {
+        this.id = id;
+        this.spreadsheetId = spreadsheetId;
+        this.sheetName = sheetName;
+        this.fileName = fileName;
+    }
+
+    public long getRowsRead() {
+        return rowsReadCounter.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWrittenCounter.get();
+    }
+
+    public void complete() {
+        finishedAtMillis = System.currentTimeMillis();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAtMillis = System.currentTimeMillis();
+        status = Status.FAILED;
+    }
+}
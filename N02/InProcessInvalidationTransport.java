@@ -0,0 +1,48 @@
+package com.psc.sw.website.component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation transport that delivers messages synchronously to every subscriber in the same JVM.
+ * Subscribers are shared across application contexts, so tests can start several contexts as "nodes";
+ * a context removes its own subscribers when it is closed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "google.sheets.invalidation.transport", havingValue = "in-process")
+public class InProcessInvalidationTransport implements SheetInvalidationTransport {
+
+    private static final List<Consumer<byte[]>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<byte[]>> ownSubscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(byte[] message) {
+        for (Consumer<byte[]> subscriber : SUBSCRIBERS) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation subscriber failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> listener) {
+        ownSubscribers.add(listener);
+        SUBSCRIBERS.add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        SUBSCRIBERS.removeAll(ownSubscribers);
+        ownSubscribers.clear();
+    }
+}
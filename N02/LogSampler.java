@@ -0,0 +1,63 @@
+package com.psc.sw.website.component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limit for one log call site: lets at most N lines per second through and counts the rest, so a hot
+ * path logs a representative sample instead of one line per request. Lock-free; meant to be held in a
+ * static final field next to the log statement it guards.
+ * <pre>
+ * if (log.isInfoEnabled() &amp;&amp; UPDATE_LOG.tryAcquire()) {
+ *     log.atInfo().addKeyValue("suppressed", UPDATE_LOG.drainSuppressed()).log("Updated cell");
+ * }
+ * </pre>
+ */
+public final class LogSampler {
+
+    private final int permitsPerSecond;
+    private final AtomicLong window = new AtomicLong(); // Epoch second in the high 32 bits, lines logged in the low 32
+    private final LongAdder suppressed = new LongAdder();
+
+    private LogSampler(int permitsPerSecond) {
+        this.permitsPerSecond = Math.max(1, permitsPerSecond);
+    }
+
+    /**
+     * @param permitsPerSecond Lines allowed per second
+     * @return A sampler for one call site
+     */
+    public static LogSampler perSecond(int permitsPerSecond) {
+        return new LogSampler(permitsPerSecond);
+    }
+
+    /**
+     * @return True if the line may be logged; otherwise it is counted as suppressed
+     */
+    public boolean tryAcquire() {
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long current = window.get();
+            long count = current & 0xFFFFFFFFL;
+            long next;
+            if ((current >>> 32) != (second & 0xFFFFFFFFL)) {
+                next = (second << 32) | 1;
+            } else if (count < permitsPerSecond) {
+                next = current + 1;
+            } else {
+                suppressed.increment();
+                return false;
+            }
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return Lines suppressed since the previous call, to be reported with the next line that is logged
+     */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,162 @@
+package com.psc.sw.website.component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Minimal streaming MessagePack encoder for sheet data (maps, arrays, strings, numbers, booleans, nil).
+ * Values are written straight into a reusable buffer and flushed to the target stream,
+ * so large sheets are encoded without building an intermediate representation.
+ *
+ * Spec: https://github.com/msgpack/msgpack/blob/master/spec.md
+ */
+public class MessagePackWriter {
+
+    public static final String MEDIA_TYPE = "application/x-msgpack";
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+
+    public MessagePackWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes a sheet in the same shape as the JSON response: {sheetName: [[cell, ...], ...]}.
+     *
+     * @param sheetName Name of the sheet (map key)
+     * @param rows      Rows of the sheet
+     * @throws IOException If writing to the stream fails
+     */
+    public void writeSheet(String sheetName, List<List<Object>> rows) throws IOException {
+        writeMapHeader(1);
+        writeString(sheetName);
+        writeArrayHeader(rows.size());
+        for (List<Object> row : rows) {
+            writeArrayHeader(row.size());
+            for (Object value : row) {
+                writeValue(value);
+            }
+        }
+        flush();
+    }
+
+    public void writeMapHeader(int size) throws IOException {
+        if (size < 16) {
+            writeByte(0x80 | size);
+        } else if (size < 65536) {
+            writeByte(0xde);
+            writeShort(size);
+        } else {
+            writeByte(0xdf);
+            writeInt(size);
+        }
+    }
+
+    public void writeArrayHeader(int size) throws IOException {
+        if (size < 16) {
+            writeByte(0x90 | size);
+        } else if (size < 65536) {
+            writeByte(0xdc);
+            writeShort(size);
+        } else {
+            writeByte(0xdd);
+            writeInt(size);
+        }
+    }
+
+    public void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writeByte(0xc0);
+        } else if (value instanceof Boolean bool) {
+            writeByte(bool ? 0xc3 : 0xc2);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            writeByte(0xcb);
+            long bits = Double.doubleToLongBits(number.doubleValue());
+            writeInt((int) (bits >>> 32));
+            writeInt((int) bits);
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    public void writeString(String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int length = utf8.length;
+        if (length < 32) {
+            writeByte(0xa0 | length);
+        } else if (length < 256) {
+            writeByte(0xd9);
+            writeByte(length);
+        } else if (length < 65536) {
+            writeByte(0xda);
+            writeShort(length);
+        } else {
+            writeByte(0xdb);
+            writeInt(length);
+        }
+        writeBytes(utf8);
+    }
+
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value >= 0 && value < 128) {
+            writeByte((int) value);
+        } else if (value >= -32 && value < 0) {
+            writeByte((int) value & 0xff);
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            writeByte(0xd2);
+            writeInt((int) value);
+        } else {
+            writeByte(0xd3);
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeShort(int value) throws IOException {
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeInt(int value) throws IOException {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.psc.sw.website.component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Incremental reader of tabular files: rows are parsed one at a time, so memory use does not grow with file size.
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * Reads the next row.
+     *
+     * @return Cell values of the row (empty for a blank row), or null at the end of the file
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    List<String> next() throws IOException;
+
+    /**
+     * Opens a reader for a CSV (UTF-8) or XLSX file.
+     *
+     * @param file     File to read
+     * @param fileName Original file name, used to detect the format
+     * @return The reader
+     * @throws IOException If the file cannot be opened
+     */
+    static RowReader open(Path file, String fileName) throws IOException {
+        if (fileName != null && fileName.toLowerCase().endsWith(".xlsx")) {
+            return new XlsxRowReader(file);
+        }
+        return new CsvRowReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+}
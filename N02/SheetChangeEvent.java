@@ -0,0 +1,117 @@
+package com.psc.sw.website.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published by SheetService after a mutation succeeded on the Google Sheets side.
+ * Listeners (caches, indexes) use it to keep their local copy of the sheet in step without refetching.
+ * Events received from other nodes through the invalidation bus are republished with remote = true.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class SheetChangeEvent {
+
+    private final Type type;
+    private final String spreadsheetId;
+    private final String sheetName;
+    private final String newSheetName;
+    private final int startIndex;   // First row/column affected (0-based)
+    private final int count;        // Number of rows/columns affected
+    private final int rowIndex;     // Row of an updated cell (0-based)
+    private final int colIndex;     // Column of an updated cell (0-based)
+    private final String value;     // New value of an updated cell
+    private final boolean remote;   // True if the mutation was performed by another node
+
+    /**
+     * Creates an event for a whole-sheet change (add, remove, move).
+     *
+     * @param type          SHEET_ADDED, SHEET_REMOVED or SHEET_MOVED
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @return The event
+     */
+    public static SheetChangeEvent sheet(Type type, String spreadsheetId, String sheetName) {
+        return new SheetChangeEvent(type, spreadsheetId, sheetName, null, -1, 0, -1, -1, null, false);
+    }
+
+    /**
+     * Creates an event for a sheet rename.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param oldSheetName  Previous name of the sheet
+     * @param newSheetName  New name of the sheet
+     * @return The event
+     */
+    public static SheetChangeEvent renamed(String spreadsheetId, String oldSheetName, String newSheetName) {
+        return new SheetChangeEvent(Type.SHEET_RENAMED, spreadsheetId, oldSheetName, newSheetName, -1, 0, -1, -1, null, false);
+    }
+
+    /**
+     * Creates an event for inserted or deleted rows/columns.
+     *
+     * @param type          ROWS_INSERTED, ROWS_DELETED, COLUMNS_INSERTED or COLUMNS_DELETED
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param startIndex    First row/column affected (0-based)
+     * @param count         Number of rows/columns affected
+     * @return The event
+     */
+    public static SheetChangeEvent dimension(Type type, String spreadsheetId, String sheetName, int startIndex, int count) {
+        return new SheetChangeEvent(type, spreadsheetId, sheetName, null, startIndex, count, -1, -1, null, false);
+    }
+
+    /**
+     * Creates an event for a single updated cell.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param rowIndex      Row index of the cell (0-based)
+     * @param colIndex      Column index of the cell (0-based)
+     * @param value         New value of the cell
+     * @return The event
+     */
+    public static SheetChangeEvent cell(String spreadsheetId, String sheetName, int rowIndex, int colIndex, String value) {
+        return new SheetChangeEvent(Type.CELL_UPDATED, spreadsheetId, sheetName, null, -1, 0, rowIndex, colIndex, value, false);
+    }
+
+    /**
+     * Creates an event telling that a sheet's cell data changed in a way that cannot be replayed locally.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @return The event
+     */
+    public static SheetChangeEvent dataInvalidated(String spreadsheetId, String sheetName) {
+        return new SheetChangeEvent(Type.DATA_INVALIDATED, spreadsheetId, sheetName, null, -1, 0, -1, -1, null, false);
+    }
+
+    /**
+     * Recreates an event received from another node.
+     *
+     * @return A copy of the given fields marked as remote
+     */
+    public static SheetChangeEvent remote(Type type, String spreadsheetId, String sheetName, String newSheetName,
+                                          int startIndex, int count, int rowIndex, int colIndex, String value) {
+        return new SheetChangeEvent(type, spreadsheetId, sheetName, newSheetName, startIndex, count, rowIndex, colIndex, value, true);
+    }
+
+    /**
+     * Kind of change carried by a SheetChangeEvent.
+     */
+    public enum Type {
+        SHEET_ADDED,
+        SHEET_RENAMED,
+        SHEET_REMOVED,
+        SHEET_MOVED,
+        ROWS_INSERTED,
+        ROWS_DELETED,
+        COLUMNS_INSERTED,
+        COLUMNS_DELETED,
+        CELL_UPDATED,
+        DATA_INVALIDATED
+    }
+}
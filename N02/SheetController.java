@@ -1,20 +1,38 @@
 package com.psc.sw.website.controller;
 
-import com.psc.sw.website.component.ProfileComponent;
+import com.psc.sw.website.component.MessagePackWriter;
+import com.psc.sw.website.component.SheetDataCache;
+import com.psc.sw.website.component.SheetTenantRegistry;
+import com.psc.sw.website.dto.CellUpdateBatch;
 import com.psc.sw.website.dto.CustomSheet;
+import com.psc.sw.website.dto.ImportJob;
+import com.psc.sw.website.dto.SheetQuery;
+import com.psc.sw.website.exception.TenantAccessDeniedException;
+import com.psc.sw.website.exception.TenantLimitExceededException;
+import com.psc.sw.website.service.SheetQueryService;
+import com.psc.sw.website.service.SheetSearchService;
 import com.psc.sw.website.service.SheetService;
+import com.psc.sw.website.service.SheetTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.units.qual.C;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,42 +45,170 @@ public class
 
 SheetController {
 
-    private final ProfileComponent profileComponent;
+    private static final String SHEET_VERSION_HEADER = "X-Sheet-Version";
+
+    private final SheetTenantRegistry tenantRegistry;
     private final SheetService sheetService;
+    private final SheetQueryService sheetQueryService;
+    private final SheetSearchService sheetSearchService;
+    private final SheetTransferService sheetTransferService;
+    private final HttpServletRequest request; // Request-scoped proxy, used to authorize the tenant parameter
 
     /**
      * Handles the root request to "/sheet".
      * Retrieves all sheet names and adds them to the model for rendering.
      *
      * @param model Spring Model object to pass data to the view
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return The view name "sheet/index"
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
      */
     @RequestMapping("")
-    public String sheet(Model model) throws GeneralSecurityException, IOException {
-        List<CustomSheet> sheetList = sheetService.getSheetNamesAsCustomSheets(profileComponent.getSheetId());
+    public String sheet(Model model, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        List<CustomSheet> sheetList = sheetService.getSheetNamesAsCustomSheets(spreadsheetId(tenant));
         model.addAttribute("sheetList", sheetList);
-        log.debug(sheetList.toString());
+        model.addAttribute("tenant", tenant);
+        log.debug("Sheets: {}", sheetList); // Formatted only when debug is enabled
         return "sheet/index";
     }
 
     /**
      * Retrieves data for a specific sheet.
      * Endpoint: GET /sheet/data
+     * The response carries an ETag; a matching If-None-Match is answered with 304 and no body.
+     * Clients sending "Accept: application/x-msgpack" get the same structure encoded as MessagePack,
+     * streamed directly from the cached rows. The two representations have distinct ETags and every response
+     * (including 304) carries "Vary: Accept", so shared caches never hand one format to a client asking for the other. Both formats are gzip-compressed when the client accepts it.
+     * With a version, that recent version of the sheet is returned instead of the current one (410 Gone
+     * once it is no longer kept); the version of the returned data is sent in the X-Sheet-Version header.
      *
-     * @param sheetName Name of the sheet to retrieve data from
-     * @param model     Spring Model object (not used in this method)
+     * @param sheetName  Name of the sheet to retrieve data from
+     * @param version    Version for a point-in-time read (optional)
+     * @param accept     Accept header of the request
+     * @param webRequest Current request, used for conditional GET handling
+     * @param servletResponse Current response, used to set Vary before a 304 is prepared
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the sheet name as the key and its data as the value
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
      */
     @GetMapping("/data")
     @ResponseBody
-    public Map<String, List<List<Object>>> data(String sheetName, Model model) throws GeneralSecurityException, IOException {
-        List<List<Object>> lists = sheetService.getSheetData(profileComponent.getSheetId(), sheetName);
+    public ResponseEntity<?> data(String sheetName,
+                                  @RequestParam(required = false) Long version,
+                                  @RequestParam(required = false) String tenant,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                  WebRequest webRequest,
+                                  HttpServletResponse servletResponse) throws GeneralSecurityException, IOException {
+        servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        SheetDataCache.Entry entry;
+        if (version == null) {
+            entry = sheetService.getCachedSheetEntry(spreadsheetId(tenant), sheetName);
+        } else {
+            entry = sheetService.getCachedSheetVersion(spreadsheetId(tenant), sheetName, version);
+            if (entry == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("status", "error");
+                response.put("message", "Version " + version + " of sheet '" + sheetName + "' is no longer available");
+                return ResponseEntity.status(HttpStatus.GONE).body(response);
+            }
+        }
+        boolean messagePack = accept != null && accept.contains(MessagePackWriter.MEDIA_TYPE);
+        String eTag = messagePack ? messagePackETag(entry.getETag()) : entry.getETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified has been prepared by checkNotModified
+        }
+        if (messagePack) {
+            StreamingResponseBody body = out -> new MessagePackWriter(out).writeSheet(sheetName, entry.getRows());
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .header(SHEET_VERSION_HEADER, String.valueOf(entry.getVersion()))
+                    .contentType(MediaType.parseMediaType(MessagePackWriter.MEDIA_TYPE))
+                    .body(body);
+        }
         Map<String, List<List<Object>>> response = new HashMap<>();
-        response.put(sheetName, lists == null ? new ArrayList<List<Object>>() : lists);
+        response.put(sheetName, entry.getRows());
+        return ResponseEntity.ok().eTag(eTag).header(SHEET_VERSION_HEADER, String.valueOf(entry.getVersion())).body(response);
+    }
+
+    /**
+     * Retrieves a window of rows for the virtualized grid.
+     * Endpoint: GET /sheet/rows
+     *
+     * @param sheetName Name of the sheet
+     * @param offset    Index of the first row to return (0-based)
+     * @param limit     Maximum number of rows to return (1 to 1000)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
+     * @return A ResponseEntity containing offset, totalRows, columnCount and rows
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    @GetMapping("/rows")
+    public ResponseEntity<Map<String, Object>> rows(
+            @RequestParam String sheetName,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "200") int limit,
+            @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        try {
+            return ResponseEntity.ok(sheetService.getRowWindow(spreadsheetId(tenant), sheetName, offset, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Runs a filter / projection / sort / aggregate query over a sheet on the server.
+     * Endpoint: GET /sheet/query
+     * Parameters:
+     * - sheetName: Name of the sheet
+     * - select: Columns to return (header name or "$"-prefixed column letter), repeatable
+     * - where: Filter such as "Price>=100" or "Name~kim", repeatable (AND-ed)
+     * - orderBy, desc, limit: Sorting and paging of the result
+     * - groupBy, agg: Grouping column and aggregates such as "sum:Price" or "count:*"
+     *
+     * @param query Query parameters bound from the request
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
+     * @return A ResponseEntity containing the columns and rows of the result set
+     */
+    @GetMapping("/query")
+    public ResponseEntity<Map<String, Object>> query(SheetQuery query, @RequestParam(required = false) String tenant) {
+        try {
+            return ResponseEntity.ok(sheetQueryService.query(spreadsheetId(tenant), query));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (GeneralSecurityException | IOException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", "An internal server error occurred.");
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Searches cell values across all sheets of the spreadsheet using the in-memory index.
+     * Endpoint: GET /sheet/search
+     *
+     * @param q     Search text; every word must match the start of a word in the cell
+     * @param limit Maximum number of hits to return (optional, default 100)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
+     * @return A map containing the query and the list of hits (sheetName, rowIndex, colIndex, value)
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    @GetMapping("/search")
+    @ResponseBody
+    public Map<String, Object> search(@RequestParam String q, @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", q);
+        response.put("results", sheetSearchService.search(spreadsheetId(tenant), q, limit));
         return response;
     }
 
@@ -73,6 +219,7 @@ SheetController {
      * @param sheetName      Name of the sheet to move
      * @param targetIndex    Target index to move the sheet to (0-based)
      * @param right          Direction to adjust the new index (0 = left, 1 = right)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -80,8 +227,8 @@ SheetController {
     @PostMapping("/move")
     @ResponseBody
     @ResponseStatus(HttpStatus.OK)
-    public Map<String, String> move(String sheetName, int targetIndex, int right) throws GeneralSecurityException, IOException {
-        sheetService.moveSheet(profileComponent.getSheetId(), sheetName, targetIndex, right);
+    public Map<String, String> move(String sheetName, int targetIndex, int right, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        sheetService.moveSheet(spreadsheetId(tenant), sheetName, targetIndex, right);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Sheet moved successfully.");
@@ -94,6 +241,7 @@ SheetController {
      *
      * @param oldName Current name of the sheet
      * @param newName New name for the sheet
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -101,8 +249,8 @@ SheetController {
     @PostMapping("/rename")
     @ResponseBody
     @ResponseStatus(HttpStatus.OK)
-    public Map<String, String> rename(String oldName, String newName) throws GeneralSecurityException, IOException {
-        sheetService.renameSheet(profileComponent.getSheetId(), oldName, newName);
+    public Map<String, String> rename(String oldName, String newName, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        sheetService.renameSheet(spreadsheetId(tenant), oldName, newName);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Sheet renamed successfully.");
@@ -114,6 +262,7 @@ SheetController {
      * Endpoint: POST /sheet/remove
      *
      * @param sheetName Name of the sheet to remove
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -121,8 +270,8 @@ SheetController {
     @PostMapping("/remove")
     @ResponseBody
     @ResponseStatus(HttpStatus.OK)
-    public Map<String, String> remove(String sheetName) throws GeneralSecurityException, IOException {
-        sheetService.removeSheet(profileComponent.getSheetId(), sheetName);
+    public Map<String, String> remove(String sheetName, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        sheetService.removeSheet(spreadsheetId(tenant), sheetName);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Sheet removed successfully.");
@@ -136,6 +285,7 @@ SheetController {
      * @param newSheetName     Name of the new sheet to add
      * @param currentSheetIndex Current index of the sheet from which to add
      * @param right             Direction to add the new sheet (0 = left, 1 = right)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -143,9 +293,9 @@ SheetController {
     @PostMapping("/add")
     @ResponseBody
     @ResponseStatus(HttpStatus.OK)
-    public Map<String, String> add(String newSheetName, int currentSheetIndex, int right) throws GeneralSecurityException, IOException {
-        sheetService.addSheet(profileComponent.getSheetId(), newSheetName);
-        sheetService.moveSheet(profileComponent.getSheetId(), newSheetName, currentSheetIndex, right);
+    public Map<String, String> add(String newSheetName, int currentSheetIndex, int right, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        sheetService.addSheet(spreadsheetId(tenant), newSheetName);
+        sheetService.moveSheet(spreadsheetId(tenant), newSheetName, currentSheetIndex, right);
 
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
@@ -159,6 +309,7 @@ SheetController {
      *
      * @param sheetName Name of the sheet to remove the column from
      * @param colIndex  Index of the column to remove (0-based)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -166,8 +317,8 @@ SheetController {
     @PostMapping("/column/remove")
     @ResponseBody
     @ResponseStatus(HttpStatus.OK)
-    public Map<String, String> removeColumn(String sheetName, int colIndex) throws GeneralSecurityException, IOException {
-        sheetService.removeColumns(profileComponent.getSheetId(), sheetName, colIndex);
+    public Map<String, String> removeColumn(String sheetName, int colIndex, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
+        sheetService.removeColumns(spreadsheetId(tenant), sheetName, colIndex);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Column removed successfully.");
@@ -181,6 +332,7 @@ SheetController {
      * @param sheetName Name of the sheet to add the column to
      * @param startIndex Starting index to add the column (0-based)
      * @param right      Direction to add the column (0 = left, 1 = right)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -188,9 +340,9 @@ SheetController {
     @PostMapping("/column/add")
     @ResponseBody
     @ResponseStatus(HttpStatus.OK)
-    public Map<String, String> addColumn(String sheetName, int startIndex, int right) throws GeneralSecurityException, IOException {
+    public Map<String, String> addColumn(String sheetName, int startIndex, int right, @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
         log.debug("/column/add: {} {} {}", sheetName, startIndex, right);
-        sheetService.addColumns(profileComponent.getSheetId(), sheetName, startIndex, right);
+        sheetService.addColumns(spreadsheetId(tenant), sheetName, startIndex, right);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Column added successfully."); // Message modified
@@ -204,6 +356,7 @@ SheetController {
      * @param sheetName  Name of the sheet to add the row to
      * @param startIndex Starting index of the row to add (0-based)
      * @param below      Direction to add the row (0 = above, 1 = below)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -214,9 +367,10 @@ SheetController {
     public Map<String, String> addRow(
             @RequestParam String sheetName,
             @RequestParam int startIndex,
-            @RequestParam int below) throws GeneralSecurityException, IOException {
+            @RequestParam int below,
+            @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
         log.debug("/sheet/row/add: sheetName={}, startIndex={}, below={}", sheetName, startIndex, below);
-        sheetService.addRows(sheetName, startIndex, below);
+        sheetService.addRows(spreadsheetId(tenant), sheetName, startIndex, below);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Row added successfully.");
@@ -230,6 +384,7 @@ SheetController {
      * @param sheetName Name of the sheet to delete rows from
      * @param startIndex Starting index of the rows to delete (0-based)
      * @param numRows    Number of rows to delete
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A map containing the status and a success message
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
@@ -240,9 +395,10 @@ SheetController {
     public Map<String, String> deleteRow(
             @RequestParam String sheetName,
             @RequestParam int startIndex,
-            @RequestParam int numRows) throws GeneralSecurityException, IOException {
+            @RequestParam int numRows,
+            @RequestParam(required = false) String tenant) throws GeneralSecurityException, IOException {
         log.debug("/sheet/row/delete: sheetName={}, startIndex={}, numRows={}", sheetName, startIndex, numRows);
-        sheetService.deleteRows(sheetName, startIndex, numRows);
+        sheetService.deleteRows(spreadsheetId(tenant), sheetName, startIndex, numRows);
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Row(s) deleted successfully.");
@@ -263,6 +419,7 @@ SheetController {
      * @param rowIndex  Row index of the cell (0-based)
      * @param colIndex  Column index of the cell (0-based)
      * @param newValue  New value to set in the cell
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
      * @return A ResponseEntity containing a map with status and message
      */
     @PostMapping("/updateCell")
@@ -270,12 +427,13 @@ SheetController {
             @RequestParam String sheetName,
             @RequestParam int rowIndex,
             @RequestParam int colIndex,
-            @RequestParam String newValue
+            @RequestParam String newValue,
+            @RequestParam(required = false) String tenant
     ) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            sheetService.updateCell(sheetName, rowIndex, colIndex, newValue);
+            sheetService.updateCell(spreadsheetId(tenant), sheetName, rowIndex, colIndex, newValue);
             response.put("status", "success");
             response.put("message", "Cell updated successfully.");
             return ResponseEntity.ok(response);
@@ -283,6 +441,60 @@ SheetController {
             response.put("status", "error");
             response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
+        } catch (TenantLimitExceededException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+        } catch (TenantAccessDeniedException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        } catch (GeneralSecurityException | IOException e) {
+            response.put("status", "error");
+            response.put("message", "An internal server error occurred.");
+            return ResponseEntity.status(500).body(response);
+        } catch (Exception e) {
+            response.put("status", "error");
+            response.put("message", "An unexpected error occurred.");
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Endpoint to update several cells of a sheet in one request.
+     * URL: /sheet/updateCells
+     * Method: POST
+     * Body: {"sheetName": "...", "edits": [{"rowIndex": 0, "colIndex": 1, "newValue": "..."}, ...]}
+     *
+     * @param batch  Sheet name and cell edits
+     * @param tenant ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
+     * @return A ResponseEntity containing the overall status ("success" or "partial") and one result per cell
+     */
+    @PostMapping("/updateCells")
+    public ResponseEntity<Map<String, Object>> updateCells(
+            @RequestBody CellUpdateBatch batch,
+            @RequestParam(required = false) String tenant
+    ) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            List<Map<String, Object>> results = sheetService.updateCells(spreadsheetId(tenant), batch.getSheetName(), batch.getEdits());
+            boolean allSucceeded = results.stream().allMatch(result -> "success".equals(result.get("status")));
+            response.put("status", allSucceeded ? "success" : "partial");
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (TenantLimitExceededException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+        } catch (TenantAccessDeniedException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
         } catch (GeneralSecurityException | IOException e) {
             response.put("status", "error");
             response.put("message", "An internal server error occurred.");
@@ -294,4 +506,110 @@ SheetController {
         }
     }
 
+    /**
+     * Starts a bulk import of a CSV (UTF-8) or XLSX file into a sheet.
+     * Endpoint: POST /sheet/import (multipart/form-data)
+     * The file is written in the background; poll GET /sheet/import/{jobId} for progress.
+     *
+     * @param file      Uploaded file (.csv or .xlsx; only the first worksheet of a workbook is imported)
+     * @param sheetName Name of the sheet to write to
+     * @param startRow  Row index at which the first row of the file is written (optional, default 0)
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
+     * @return A ResponseEntity containing the status and the job
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importFile(
+            @RequestParam MultipartFile file,
+            @RequestParam String sheetName,
+            @RequestParam(defaultValue = "0") int startRow,
+            @RequestParam(required = false) String tenant
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ImportJob job = sheetTransferService.startImport(spreadsheetId(tenant), sheetName, file, startRow);
+            response.put("status", "success");
+            response.put("job", job);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IOException e) {
+            log.error("Error storing upload: {}", e.getMessage());
+            response.put("status", "error");
+            response.put("message", "An internal server error occurred.");
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Returns the progress of an import job.
+     * Endpoint: GET /sheet/import/{jobId}
+     *
+     * Jobs of other tenants are answered with 404, as if unknown.
+     *
+     * @param jobId  ID returned by POST /sheet/import
+     * @param tenant ID of the tenant the import was started for (optional, defaults to the configured sheet)
+     * @return A ResponseEntity containing the job (status, rowsRead, rowsWritten, error), or 404 if unknown
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJob> importStatus(@PathVariable String jobId, @RequestParam(required = false) String tenant) {
+        ImportJob job = sheetTransferService.getJob(jobId);
+        if (job == null || !job.getSpreadsheetId().equals(spreadsheetId(tenant))) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Downloads a sheet as CSV, streamed in windows so large sheets are not held in memory.
+     * Endpoint: GET /sheet/export
+     *
+     * @param sheetName Name of the sheet to export
+     * @param tenant    ID of the tenant owning the spreadsheet (optional, defaults to the configured sheet)
+     * @return A ResponseEntity streaming the CSV file
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@RequestParam String sheetName,
+                                                           @RequestParam(required = false) String tenant) {
+        String spreadsheetId = spreadsheetId(tenant);
+        StreamingResponseBody body = out -> {
+            try {
+                sheetTransferService.exportCsv(spreadsheetId, sheetName, out);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error exporting sheet '{}': {}", sheetName, e.getMessage());
+                throw new IOException(e);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(sheetName + ".csv", StandardCharsets.UTF_8).build().toString())
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    /**
+     * Resolves the spreadsheet of a tenant, falling back to the default tenant.
+     * The tenant parameter is client-supplied, so the authenticated caller must be one of the tenant's members.
+     *
+     * @param tenant ID of the tenant, or null for the default tenant
+     * @return ID of the tenant's spreadsheet
+     * @throws TenantAccessDeniedException If the caller is not a member of the tenant
+     */
+    private String spreadsheetId(String tenant) {
+        return tenantRegistry.resolveFor(tenant, request.getUserPrincipal()).getSpreadsheetId();
+    }
+
+    /**
+     * Derives the ETag of the MessagePack representation from the (quoted) ETag of the cached entry.
+     *
+     * @param eTag ETag of the entry, as used for the JSON representation
+     * @return ETag of the MessagePack representation
+     */
+    private static String messagePackETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-msgpack\"";
+    }
+
 }
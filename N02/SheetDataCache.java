@@ -0,0 +1,301 @@
+package com.psc.sw.website.component;
+
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.psc.sw.website.event.SheetChangeEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cache of sheet metadata and cell data, keyed by spreadsheet ID and sheet name.
+ * Each spreadsheet (tenant) has its own partition bounded by the tenant's max-cached-sheets,
+ * so one tenant with many large sheets cannot push the others out. Entries are immutable versions; cell updates
+ * and inserted/deleted rows or columns publish a patched version that shares all untouched row chunks with the
+ * previous one (see SheetRows), so peers receiving the change through the invalidation bus do not have to refetch
+ * the sheet. Readers never lock: they get whatever version is current and keep a consistent view of it.
+ * The last few versions of each sheet are kept for point-in-time reads. Changes that cannot be replayed evict it.
+ * Expired entries are still returned so callers can serve them while revalidating in the background.
+ */
+@Slf4j
+@Component
+public class SheetDataCache {
+
+    private final SheetTenantRegistry tenantRegistry;
+    // The map slot of a sheet is its atomic reference: writers swap in a new Versions with compute()
+    private final ConcurrentMap<String, ConcurrentMap<String, Versions>> partitions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SheetsEntry> sheetsEntries = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    // Distinguishes versions of this process from those handed out before a restart (for ETags)
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Duration ttl;
+    private final int versionsKept;
+
+    public SheetDataCache(SheetTenantRegistry tenantRegistry,
+                          @Value("${google.sheets.cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${google.sheets.cache.versions-kept:8}") int versionsKept) {
+        this.tenantRegistry = tenantRegistry;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.versionsKept = Math.max(1, versionsKept);
+    }
+
+    /**
+     * Returns the cached data of a sheet, even if it is stale.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @return The cache entry, or null if absent
+     */
+    public Entry get(String spreadsheetId, String sheetName) {
+        Map<String, Versions> partition = partitions.get(spreadsheetId);
+        Versions versions = partition == null ? null : partition.get(sheetName);
+        return versions == null ? null : versions.current;
+    }
+
+    /**
+     * Returns a specific version of a sheet's data, if it is still kept.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param version       Version returned earlier in Entry.getVersion
+     * @return The cache entry, or null if the version is unknown or no longer kept
+     */
+    public Entry get(String spreadsheetId, String sheetName, long version) {
+        Map<String, Versions> partition = partitions.get(spreadsheetId);
+        Versions versions = partition == null ? null : partition.get(sheetName);
+        if (versions == null) {
+            return null;
+        }
+        for (Entry entry : versions.entries) {
+            if (entry.version == version) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the data of a sheet, replacing any previous entry.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param rows          Rows as returned by the Sheets API (may be null for an empty sheet)
+     * @param stale         True if the data did not come from the Sheets API (e.g. a local snapshot)
+     * @return The new cache entry
+     */
+    public Entry put(String spreadsheetId, String sheetName, List<List<Object>> rows, boolean stale) {
+        Entry entry = new Entry(SheetRows.of(rows), versionSequence.incrementAndGet(), epoch, System.nanoTime(), stale);
+        ConcurrentMap<String, Versions> partition = partition(spreadsheetId);
+        partition.compute(sheetName, (k, versions) -> publish(versions, entry));
+        int maxSheets = tenantRegistry.forSpreadsheet(spreadsheetId).getMaxCachedSheets();
+        while (partition.size() > Math.max(1, maxSheets)) {
+            // Evict the least recently loaded sheet of this tenant only
+            partition.entrySet().stream()
+                    .filter(e -> !e.getKey().equals(sheetName))
+                    .min(Comparator.comparingLong(e -> e.getValue().current.getLoadedAtNanos()))
+                    .ifPresent(e -> partition.remove(e.getKey(), e.getValue()));
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the cached sheet metadata of a spreadsheet, even if it is stale.
+     *
+     * @param spreadsheetId ID of the spreadsheet
+     * @return The cache entry, or null if absent
+     */
+    public SheetsEntry getSheets(String spreadsheetId) {
+        return sheetsEntries.get(spreadsheetId);
+    }
+
+    /**
+     * Stores the sheet metadata of a spreadsheet, replacing any previous entry.
+     *
+     * @param spreadsheetId ID of the spreadsheet
+     * @param sheets        Sheets as returned by the Sheets API
+     * @param stale         True if the data did not come from the Sheets API (e.g. a local snapshot)
+     * @return The new cache entry
+     */
+    public SheetsEntry putSheets(String spreadsheetId, List<Sheet> sheets, boolean stale) {
+        SheetsEntry entry = new SheetsEntry(Collections.unmodifiableList(new ArrayList<>(sheets)), System.nanoTime(), stale);
+        sheetsEntries.put(spreadsheetId, entry);
+        return entry;
+    }
+
+    /**
+     * Tells whether an entry should be revalidated against the Sheets API.
+     *
+     * @param entry A data or metadata entry returned by this cache
+     * @return True if the entry came from a snapshot or is older than the TTL
+     */
+    public boolean isStale(CachedValue entry) {
+        return entry.isStale() || System.nanoTime() - entry.getLoadedAtNanos() > ttl.toNanos();
+    }
+
+    /**
+     * Removes the cached data of a sheet.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     */
+    public void evict(String spreadsheetId, String sheetName) {
+        Map<String, Versions> partition = partitions.get(spreadsheetId);
+        if (partition != null) {
+            partition.remove(sheetName);
+        }
+    }
+
+    /**
+     * Keeps the cache in step with mutations performed through SheetService.
+     *
+     * @param event The change that was applied
+     */
+    @EventListener
+    public void onSheetChange(SheetChangeEvent event) {
+        ConcurrentMap<String, Versions> partition = partition(event.getSpreadsheetId());
+        String sheetName = event.getSheetName();
+        if (event.getType() != SheetChangeEvent.Type.CELL_UPDATED && event.getType() != SheetChangeEvent.Type.DATA_INVALIDATED) {
+            sheetsEntries.remove(event.getSpreadsheetId()); // Titles, indices or grid sizes changed
+        }
+        switch (event.getType()) {
+            case CELL_UPDATED -> partition.computeIfPresent(sheetName, (k, versions) -> publish(versions,
+                    versions.current.withCell(event.getRowIndex(), event.getColIndex(), event.getValue(), versionSequence.incrementAndGet(), epoch)));
+            case ROWS_INSERTED, ROWS_DELETED, COLUMNS_INSERTED, COLUMNS_DELETED -> partition.computeIfPresent(sheetName, (k, versions) -> publish(versions,
+                    versions.current.withDimension(event.getType(), event.getStartIndex(), event.getCount(), versionSequence.incrementAndGet(), epoch)));
+            case SHEET_RENAMED -> {
+                Versions versions = partition.remove(sheetName);
+                if (versions != null) {
+                    partition.put(event.getNewSheetName(), versions);
+                }
+            }
+            case SHEET_ADDED, SHEET_MOVED -> {
+                // Cell data is unaffected
+            }
+            default -> partition.remove(sheetName);
+        }
+        log.debug("Applied {}{} to sheet cache for '{}'", event.isRemote() ? "remote " : "", event.getType(), event.getSheetName());
+    }
+
+    private ConcurrentMap<String, Versions> partition(String spreadsheetId) {
+        return partitions.computeIfAbsent(spreadsheetId, id -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Makes an entry the current version, keeping at most versionsKept versions (newest first).
+     */
+    private Versions publish(Versions versions, Entry entry) {
+        List<Entry> entries = new ArrayList<>(versionsKept);
+        entries.add(entry);
+        if (versions != null) {
+            entries.addAll(versions.entries.subList(0, Math.min(versions.entries.size(), versionsKept - 1)));
+        }
+        return new Versions(entry, Collections.unmodifiableList(entries));
+    }
+
+    /**
+     * Current and recent versions of one sheet. Entries do not reference each other, so only the kept versions
+     * stay reachable; they share most of their row chunks.
+     */
+    private static class Versions {
+        private final Entry current;
+        private final List<Entry> entries; // Newest first, current included
+
+        private Versions(Entry current, List<Entry> entries) {
+            this.current = current;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Common view of cached values for staleness checks.
+     */
+    public interface CachedValue {
+        long getLoadedAtNanos();
+
+        boolean isStale();
+    }
+
+    /**
+     * Immutable snapshot of one sheet's data.
+     */
+    @Getter
+    public static class Entry implements CachedValue {
+        private final SheetRows rows;
+        private final long version;
+        private final String eTag;
+        private final long loadedAtNanos;
+        private final boolean stale;
+
+        private Entry(SheetRows rows, long version, String epoch, long loadedAtNanos, boolean stale) {
+            this.rows = rows;
+            this.version = version;
+            this.eTag = "\"" + epoch + "-" + version + "\"";
+            this.loadedAtNanos = loadedAtNanos;
+            this.stale = stale;
+        }
+
+        private Entry withCell(int rowIndex, int colIndex, String value, long newVersion, String epoch) {
+            List<Object> newRow = new ArrayList<>(rowIndex < rows.size() ? rows.get(rowIndex) : Collections.emptyList());
+            while (newRow.size() <= colIndex) {
+                newRow.add("");
+            }
+            newRow.set(colIndex, value);
+            return new Entry(rows.withRow(rowIndex, Collections.unmodifiableList(newRow)), newVersion, epoch, loadedAtNanos, stale);
+        }
+
+        private Entry withDimension(SheetChangeEvent.Type type, int startIndex, int count, long newVersion, String epoch) {
+            SheetRows newRows;
+            switch (type) {
+                case ROWS_INSERTED -> newRows = startIndex < rows.size() ? rows.withRowsInserted(startIndex, count) : rows;
+                case ROWS_DELETED -> newRows = rows.withRowsDeleted(startIndex, count);
+                default -> {
+                    // Every row may shift; rows shorter than startIndex are shared as they are
+                    List<List<Object>> shifted = new ArrayList<>(rows);
+                    for (int r = 0; r < shifted.size(); r++) {
+                        List<Object> row = shifted.get(r);
+                        if (startIndex >= row.size()) {
+                            continue; // Rows are trimmed; nothing to shift
+                        }
+                        List<Object> newRow = new ArrayList<>(row);
+                        if (type == SheetChangeEvent.Type.COLUMNS_INSERTED) {
+                            newRow.addAll(startIndex, Collections.nCopies(count, ""));
+                        } else {
+                            newRow.subList(startIndex, Math.min(newRow.size(), startIndex + count)).clear();
+                        }
+                        shifted.set(r, Collections.unmodifiableList(newRow));
+                    }
+                    newRows = SheetRows.ofUnmodifiableRows(shifted);
+                }
+            }
+            return new Entry(newRows, newVersion, epoch, loadedAtNanos, stale);
+        }
+    }
+
+    /**
+     * Immutable snapshot of one spreadsheet's sheet metadata.
+     */
+    @Getter
+    public static class SheetsEntry implements CachedValue {
+        private final List<Sheet> sheets;
+        private final long loadedAtNanos;
+        private final boolean stale;
+
+        private SheetsEntry(List<Sheet> sheets, long loadedAtNanos, boolean stale) {
+            this.sheets = sheets;
+            this.loadedAtNanos = loadedAtNanos;
+            this.stale = stale;
+        }
+    }
+}
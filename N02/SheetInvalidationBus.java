@@ -0,0 +1,220 @@
+package com.psc.sw.website.component;
+
+import com.psc.sw.website.event.SheetChangeEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the sheet caches of all nodes behind the load balancer coherent.
+ * Every local SheetChangeEvent (sheet, row/column range or single cell) is encoded and sent through the
+ * configured SheetInvalidationTransport; events received from peers are republished locally as remote
+ * events, so SheetDataCache and SheetSearchService patch their copies in place instead of refetching.
+ * Remote events are never sent again, and a node ignores its own messages.
+ * Every message carries its send time and a per-node sequence number (covered by the transport's HMAC), so
+ * duplicates and messages older than MAX_MESSAGE_AGE_MILLIS (replays) are dropped; this assumes node clocks are
+ * synchronized (NTP). Positional patches (cell updates, row/column inserts and deletes) must be applied in order,
+ * so one that arrives after a gap in its sender's sequence, or after a later message, only invalidates the sheet.
+ */
+@Slf4j
+@Component
+public class SheetInvalidationBus {
+
+    private static final byte FORMAT_VERSION = 2;
+    // Keep messages within a single datagram; larger cell values are sent as a plain sheet invalidation
+    private static final int MAX_MESSAGE_BYTES = 60_000;
+    private static final long MAX_MESSAGE_AGE_MILLIS = 30_000;
+    // Sequence state of a silent node is dropped after this long; its old messages fail the age check anyway
+    private static final long PEER_STATE_TTL_MILLIS = 3_600_000;
+    private static final Set<SheetChangeEvent.Type> POSITIONAL_TYPES = EnumSet.of(
+            SheetChangeEvent.Type.CELL_UPDATED,
+            SheetChangeEvent.Type.ROWS_INSERTED, SheetChangeEvent.Type.ROWS_DELETED,
+            SheetChangeEvent.Type.COLUMNS_INSERTED, SheetChangeEvent.Type.COLUMNS_DELETED);
+
+    private final ObjectProvider<SheetInvalidationTransport> transportProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, PeerSequence> peerSequences = new ConcurrentHashMap<>();
+    private SheetInvalidationTransport transport;
+
+    public SheetInvalidationBus(ObjectProvider<SheetInvalidationTransport> transportProvider, ApplicationEventPublisher eventPublisher) {
+        this.transportProvider = transportProvider;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() {
+        transport = transportProvider.getIfAvailable();
+        if (transport == null) {
+            log.info("No sheet invalidation transport configured; cache invalidations stay local");
+            return;
+        }
+        transport.subscribe(this::receive);
+        log.info("Sheet invalidation bus started on node {} using {}", nodeId, transport.getClass().getSimpleName());
+    }
+
+    /**
+     * Forwards a local mutation to the other nodes.
+     *
+     * @param event The change that was applied on this node
+     */
+    @EventListener
+    public void onSheetChange(SheetChangeEvent event) {
+        if (transport == null || event.isRemote()) {
+            return;
+        }
+        try {
+            long sequenceNumber = sequence.incrementAndGet();
+            byte[] message = encode(event, sequenceNumber);
+            if (message.length > MAX_MESSAGE_BYTES) {
+                message = encode(SheetChangeEvent.dataInvalidated(event.getSpreadsheetId(), event.getSheetName()), sequenceNumber);
+            }
+            transport.publish(message);
+        } catch (IOException e) {
+            // The mutation itself succeeded; peers fall back to revalidating once their entry expires
+            log.warn("Failed to publish sheet invalidation {}: {}", event.getType(), e.getMessage());
+        }
+    }
+
+    private void receive(byte[] message) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                log.warn("Ignoring sheet invalidation with unknown format");
+                return;
+            }
+            String sender = in.readUTF();
+            if (nodeId.equals(sender)) {
+                return; // Our own message, already applied locally
+            }
+            long sentAt = in.readLong();
+            long sequenceNumber = in.readLong();
+            long now = System.currentTimeMillis();
+            if (Math.abs(now - sentAt) > MAX_MESSAGE_AGE_MILLIS) {
+                log.warn("Ignoring sheet invalidation from node {} sent {} ms ago", sender, now - sentAt);
+                return;
+            }
+            SheetChangeEvent.Type type = SheetChangeEvent.Type.valueOf(in.readUTF());
+            String spreadsheetId = in.readUTF();
+            String sheetName = in.readUTF();
+            String newSheetName = in.readBoolean() ? in.readUTF() : null;
+            int startIndex = in.readInt();
+            int count = in.readInt();
+            int rowIndex = in.readInt();
+            int colIndex = in.readInt();
+            String value = null;
+            if (in.readBoolean()) {
+                byte[] utf8 = new byte[in.readInt()];
+                in.readFully(utf8);
+                value = new String(utf8, StandardCharsets.UTF_8);
+            }
+            peerSequences.values().removeIf(peer -> peer.isIdle(now));
+            Delivery delivery = peerSequences.computeIfAbsent(sender, id -> new PeerSequence()).accept(sequenceNumber, now);
+            if (delivery == Delivery.DUPLICATE) {
+                log.debug("Ignoring duplicate sheet invalidation {} from node {}", sequenceNumber, sender);
+                return;
+            }
+            SheetChangeEvent event;
+            if (delivery == Delivery.OUT_OF_ORDER && POSITIONAL_TYPES.contains(type)) {
+                // Earlier patches of this sheet may be missing or still in transit; patching now could corrupt it
+                log.debug("Sheet invalidation {} from node {} is out of order; invalidating '{}'", sequenceNumber, sender, sheetName);
+                event = SheetChangeEvent.remote(SheetChangeEvent.Type.DATA_INVALIDATED, spreadsheetId, sheetName, null,
+                        -1, 0, -1, -1, null);
+            } else {
+                event = SheetChangeEvent.remote(type, spreadsheetId, sheetName, newSheetName,
+                        startIndex, count, rowIndex, colIndex, value);
+            }
+            log.debug("Received remote invalidation: {}", event);
+            eventPublisher.publishEvent(event);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring malformed sheet invalidation: {}", e.getMessage());
+        }
+    }
+
+    private byte[] encode(SheetChangeEvent event, long sequenceNumber) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(nodeId);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(sequenceNumber);
+            out.writeUTF(event.getType().name());
+            out.writeUTF(event.getSpreadsheetId());
+            out.writeUTF(event.getSheetName());
+            out.writeBoolean(event.getNewSheetName() != null);
+            if (event.getNewSheetName() != null) {
+                out.writeUTF(event.getNewSheetName());
+            }
+            out.writeInt(event.getStartIndex());
+            out.writeInt(event.getCount());
+            out.writeInt(event.getRowIndex());
+            out.writeInt(event.getColIndex());
+            out.writeBoolean(event.getValue() != null);
+            if (event.getValue() != null) {
+                byte[] utf8 = event.getValue().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private enum Delivery {
+        IN_ORDER,
+        OUT_OF_ORDER,
+        DUPLICATE
+    }
+
+    /**
+     * Sequence numbers seen from one node: the highest one and a bitmap of the 64 before it.
+     * Messages older than the bitmap cannot be told apart from replays and are treated as duplicates.
+     */
+    private static class PeerSequence {
+        private static final int WINDOW = 64;
+
+        private long highest = -1;
+        private long seen; // Bit i set: highest - i was received
+        private long lastReceivedMillis;
+
+        private synchronized Delivery accept(long sequenceNumber, long now) {
+            lastReceivedMillis = now;
+            if (highest < 0) {
+                highest = sequenceNumber; // First message since this node started listening
+                seen = 1;
+                return Delivery.IN_ORDER;
+            }
+            if (sequenceNumber > highest) {
+                long shift = sequenceNumber - highest;
+                seen = (shift >= WINDOW ? 0 : seen << shift) | 1;
+                highest = sequenceNumber;
+                return shift == 1 ? Delivery.IN_ORDER : Delivery.OUT_OF_ORDER;
+            }
+            long offset = highest - sequenceNumber;
+            if (offset >= WINDOW || (seen & (1L << offset)) != 0) {
+                return Delivery.DUPLICATE;
+            }
+            seen |= 1L << offset;
+            return Delivery.OUT_OF_ORDER;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return now - lastReceivedMillis > PEER_STATE_TTL_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.psc.sw.website.component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Transport used by SheetInvalidationBus to exchange encoded cache invalidations between nodes.
+ * Implementations are selected with google.sheets.invalidation.transport (in-process, udp);
+ * without one, invalidations stay local to the node that performed the mutation.
+ */
+public interface SheetInvalidationTransport {
+
+    /**
+     * Sends a message to all peers (delivery back to the sender is allowed and filtered by the bus).
+     *
+     * @param message Encoded invalidation
+     * @throws IOException If the message could not be sent
+     */
+    void publish(byte[] message) throws IOException;
+
+    /**
+     * Registers the callback invoked for every message received from a peer.
+     *
+     * @param listener Callback receiving the encoded invalidation
+     */
+    void subscribe(Consumer<byte[]> listener);
+}
@@ -0,0 +1,371 @@
+package com.psc.sw.website.component;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.sheets.v4.model.GridProperties;
+import com.google.api.services.sheets.v4.model.Request;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer executor for structural mutations (rows, columns, sheet order).
+ * Each spreadsheet has its own lane running on a single thread, so mutations of the same spreadsheet are planned
+ * and applied strictly in order while different spreadsheets proceed in parallel. Lanes are not shared between
+ * spreadsheets, so a lane waiting for its tenant's rate budget never delays another tenant's mutations; spreadsheet
+ * IDs come from the tenant registry, which bounds the number of lanes. Mutations queued in a lane are validated one after the other against a local model of the
+ * spreadsheet (sheet IDs, indices, grid sizes) and sent as a single batchUpdate; if the Sheets API rejects that
+ * batch with a client error, its mutations are retried one by one so a single bad request does not fail the others.
+ * Any other failure fails every mutation of the batch.
+ */
+@Slf4j
+public class SheetMutationExecutor {
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final long timeoutMillis;
+    private final MetadataLoader metadataLoader;
+    private final BatchApplier batchApplier;
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Set<Pending> outstanding = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger laneCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    public SheetMutationExecutor(long timeoutMillis, MetadataLoader metadataLoader, BatchApplier batchApplier) {
+        this.timeoutMillis = timeoutMillis;
+        this.metadataLoader = metadataLoader;
+        this.batchApplier = batchApplier;
+    }
+
+    /**
+     * Queues a mutation on the lane of its spreadsheet and waits until it has been applied.
+     *
+     * @param spreadsheetId ID of the spreadsheet to mutate
+     * @param mutation      Validates the mutation against the current model and returns its requests
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error, the wait timed out or the executor was shut down
+     * @throws IllegalArgumentException If the mutation is invalid for the current state of the spreadsheet
+     */
+    public void submit(String spreadsheetId, Mutation mutation) throws GeneralSecurityException, IOException {
+        Pending pending = new Pending(mutation);
+        outstanding.add(pending);
+        pending.future.whenComplete((result, error) -> outstanding.remove(pending));
+        Lane lane = lanes.computeIfAbsent(spreadsheetId, Lane::new);
+        if (closed) {
+            pending.future.completeExceptionally(new IOException("Sheet mutation executor is shut down"));
+        } else {
+            try {
+                lane.enqueue(pending);
+            } catch (RejectedExecutionException e) {
+                pending.future.completeExceptionally(new IOException("Sheet mutation executor is shut down", e));
+            }
+        }
+        try {
+            pending.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (lane.queue.remove(pending)) {
+                pending.future.completeExceptionally(e);
+                throw new IOException("Timed out waiting for a sheet mutation of spreadsheet ID: " + spreadsheetId + "; it was not applied", e);
+            }
+            // Already taken by the lane; it may still be applied
+            throw new IOException("Timed out waiting for a sheet mutation of spreadsheet ID: " + spreadsheetId + "; it may still be applied", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for sheet mutation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof GeneralSecurityException securityException) {
+                throw securityException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Stops the lanes and fails every queued or in-flight mutation, so no caller waits for work that will not run.
+     */
+    public void shutdown() {
+        closed = true;
+        lanes.values().forEach(lane -> lane.thread.shutdownNow());
+        IOException error = new IOException("Sheet mutation executor is shut down");
+        for (Pending pending : outstanding) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private void apply(String spreadsheetId, List<Pending> group) {
+        // Attribute the batch's API calls to the trace of the request that queued the first mutation
+        try (Scope ignored = group.get(0).context.makeCurrent()) {
+            applyInContext(spreadsheetId, group);
+        }
+    }
+
+    private void applyInContext(String spreadsheetId, List<Pending> group) {
+        SpreadsheetModel model;
+        try {
+            model = new SpreadsheetModel(metadataLoader.load(spreadsheetId));
+        } catch (Exception e) {
+            group.forEach(pending -> pending.future.completeExceptionally(e));
+            return;
+        }
+
+        List<Request> requests = new ArrayList<>();
+        List<Pending> planned = new ArrayList<>();
+        for (Pending pending : group) {
+            try {
+                pending.plan = pending.mutation.plan(model);
+            } catch (RuntimeException e) {
+                pending.future.completeExceptionally(e); // Invalid against the state left by earlier mutations
+                continue;
+            }
+            if (pending.plan.getRequests().isEmpty()) {
+                pending.complete();
+            } else {
+                requests.addAll(pending.plan.getRequests());
+                planned.add(pending);
+            }
+        }
+        if (planned.isEmpty()) {
+            return;
+        }
+
+        try {
+            batchApplier.apply(spreadsheetId, requests);
+            log.debug("Applied {} mutation(s) ({} requests) to spreadsheet ID: {} in one batch", planned.size(), requests.size(), spreadsheetId);
+            planned.forEach(Pending::complete);
+        } catch (Exception e) {
+            if (planned.size() == 1 || !isRejectedRequest(e)) {
+                // A timeout, 5xx or quota error says nothing about individual requests and may even have been applied
+                // upstream; replaying could apply mutations twice, so the whole batch fails
+                planned.forEach(pending -> pending.future.completeExceptionally(e));
+                return;
+            }
+            // The Sheets API validates a batchUpdate as a whole and applies nothing when it answers 4xx;
+            // replay each mutation on its own against fresh metadata so only the bad one fails
+            log.warn("Batch of {} mutations rejected for spreadsheet ID: {} ({}); retrying individually", planned.size(), spreadsheetId, e.getMessage());
+            for (Pending pending : planned) {
+                apply(spreadsheetId, Collections.singletonList(pending));
+            }
+        }
+    }
+
+    /**
+     * @return True if the Sheets API rejected the batch as a client error (other than the quota), i.e. applied none of it
+     */
+    public static boolean isRejectedRequest(Exception e) {
+        if (!(e instanceof GoogleJsonResponseException responseException)) {
+            return false;
+        }
+        int status = responseException.getStatusCode();
+        return status >= 400 && status < 500 && status != 429;
+    }
+
+    /**
+     * Single-threaded lane draining the queue of one spreadsheet in batches.
+     */
+    private class Lane {
+        private final String spreadsheetId;
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final ExecutorService thread;
+
+        private Lane(String spreadsheetId) {
+            this.spreadsheetId = spreadsheetId;
+            int index = laneCount.getAndIncrement();
+            this.thread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread t = new Thread(runnable, "sheet-mutation-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        private void enqueue(Pending pending) {
+            queue.add(pending);
+            thread.execute(this::drain); // A drain may find the queue already emptied by an earlier one
+        }
+
+        private void drain() {
+            List<Pending> batch = new ArrayList<>();
+            Pending pending;
+            while (batch.size() < MAX_BATCH_SIZE && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            if (!batch.isEmpty()) {
+                apply(spreadsheetId, batch);
+            }
+        }
+    }
+
+    private static class Pending {
+        private final Mutation mutation;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final Context context = Context.current();
+        private Plan plan;
+
+        private Pending(Mutation mutation) {
+            this.mutation = mutation;
+        }
+
+        private void complete() {
+            try {
+                plan.getOnApplied().run();
+            } catch (RuntimeException e) {
+                log.warn("Post-mutation callback failed: {}", e.getMessage());
+            }
+            future.complete(null);
+        }
+    }
+
+    /**
+     * Structural mutation planned against the local model of a spreadsheet.
+     */
+    @FunctionalInterface
+    public interface Mutation {
+        /**
+         * Validates the mutation, updates the model to reflect it and returns the requests to send.
+         *
+         * @param model Current state of the spreadsheet, including earlier mutations of the same batch
+         * @return The plan (requests and callback run once they were applied)
+         * @throws IllegalArgumentException If the mutation is invalid; the model must be left untouched
+         */
+        Plan plan(SpreadsheetModel model);
+    }
+
+    @FunctionalInterface
+    public interface MetadataLoader {
+        List<Sheet> load(String spreadsheetId) throws GeneralSecurityException, IOException;
+    }
+
+    @FunctionalInterface
+    public interface BatchApplier {
+        void apply(String spreadsheetId, List<Request> requests) throws GeneralSecurityException, IOException;
+    }
+
+    /**
+     * Requests of one mutation and the callback to run after they were applied.
+     */
+    @Getter
+    public static class Plan {
+        private static final Plan NONE = new Plan(Collections.emptyList(), () -> {
+        });
+
+        private final List<Request> requests;
+        private final Runnable onApplied;
+
+        private Plan(List<Request> requests, Runnable onApplied) {
+            this.requests = requests;
+            this.onApplied = onApplied;
+        }
+
+        public static Plan of(Request request, Runnable onApplied) {
+            return new Plan(Collections.singletonList(request), onApplied);
+        }
+
+        public static Plan of(List<Request> requests, Runnable onApplied) {
+            return new Plan(List.copyOf(requests), onApplied);
+        }
+
+        public static Plan none() {
+            return NONE;
+        }
+    }
+
+    /**
+     * Mutable model of a spreadsheet's sheets, kept in step with the mutations planned in a batch.
+     */
+    public static class SpreadsheetModel {
+        private final List<SheetModel> sheets = new ArrayList<>(); // Ordered by index
+
+        private SpreadsheetModel(List<Sheet> sheets) {
+            for (Sheet sheet : sheets) {
+                this.sheets.add(new SheetModel(sheet.getProperties()));
+            }
+            this.sheets.sort(Comparator.comparingInt(SheetModel::getIndex));
+        }
+
+        /**
+         * @param title Name of the sheet
+         * @return The sheet
+         * @throws IllegalArgumentException If the sheet is not found
+         */
+        public SheetModel sheet(String title) {
+            return sheets.stream()
+                    .filter(sheet -> sheet.getTitle().equals(title))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Sheet with name '" + title + "' not found"));
+        }
+
+        public int getSheetCount() {
+            return sheets.size();
+        }
+
+        /**
+         * Moves a sheet the way UpdateSheetPropertiesRequest does: the index refers to the order before the move.
+         *
+         * @param sheet    Sheet to move
+         * @param newIndex Requested index
+         */
+        public void move(SheetModel sheet, int newIndex) {
+            int currentIndex = sheets.indexOf(sheet);
+            sheets.remove(currentIndex);
+            sheets.add(Math.min(sheets.size(), newIndex > currentIndex ? newIndex - 1 : newIndex), sheet);
+            for (int i = 0; i < sheets.size(); i++) {
+                sheets.get(i).index = i;
+            }
+        }
+    }
+
+    /**
+     * Mutable model of one sheet's properties.
+     */
+    @Getter
+    public static class SheetModel {
+        private final int sheetId;
+        private final String title;
+        private int index;
+        private int rowCount;
+        private int columnCount;
+
+        private SheetModel(SheetProperties properties) {
+            GridProperties grid = properties.getGridProperties();
+            this.sheetId = properties.getSheetId();
+            this.title = properties.getTitle();
+            this.index = properties.getIndex() == null ? 0 : properties.getIndex();
+            this.rowCount = grid != null && grid.getRowCount() != null ? grid.getRowCount() : 1000; // Sheets API default
+            this.columnCount = grid != null && grid.getColumnCount() != null ? grid.getColumnCount() : 100;
+        }
+
+        public void addRows(int delta) {
+            rowCount += delta;
+        }
+
+        public void addColumns(int delta) {
+            columnCount += delta;
+        }
+    }
+}
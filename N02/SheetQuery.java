@@ -0,0 +1,33 @@
+package com.psc.sw.website.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query parameters for GET /sheet/query.
+ * Columns are referenced by header name (first row) or by column letter with a "$" prefix ($A, $B, ..., $AA);
+ * without a header row the prefix is optional.
+ *
+ * Example: /sheet/query?sheetName=Orders&where=Price>=100&where=Status=paid&groupBy=Region&agg=sum:Price&agg=count:*
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class SheetQuery {
+
+    private String sheetName;
+    private boolean header = true;          // Treat the first row as column names
+    private List<String> select = new ArrayList<>();   // Projected columns; empty selects all
+    private List<String> where = new ArrayList<>();    // Filters such as "Price>=100", "Name~kim" (AND-ed)
+    private String orderBy;
+    private boolean desc;
+    private Integer limit;
+    private String groupBy;
+    private List<String> agg = new ArrayList<>();      // Aggregates such as "sum:Price", "count:*"
+}
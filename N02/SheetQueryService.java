@@ -0,0 +1,381 @@
+package com.psc.sw.website.service;
+
+import com.psc.sw.website.dto.SheetQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs filter / projection / sort / limit / group-by queries over cached sheet data
+ * so that only the result set has to be sent to the browser.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SheetQueryService {
+
+    private static final int PARALLEL_THRESHOLD = 20_000; // Rows above which the scan runs in parallel
+    private static final Pattern FILTER_PATTERN = Pattern.compile("^(.+?)(>=|<=|!=|=|>|<|~)(.*)$");
+    private static final Pattern COLUMN_LETTERS = Pattern.compile("^[A-Za-z]{1,3}$");
+
+    private final SheetService sheetService;
+
+    /**
+     * Executes a query against the cached data of a sheet.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param query         Query parameters
+     * @return A map with "columns", "rows" and "matched" (number of rows that passed the filters)
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     * @throws IllegalArgumentException If the query references an unknown column or is malformed
+     */
+    public Map<String, Object> query(String spreadsheetId, SheetQuery query) throws GeneralSecurityException, IOException {
+        if (query.getSheetName() == null || query.getSheetName().isBlank()) {
+            throw new IllegalArgumentException("sheetName is required");
+        }
+        List<List<Object>> data = sheetService.getCachedSheetData(spreadsheetId, query.getSheetName());
+        long start = System.nanoTime();
+        Map<String, Object> result = execute(data, query);
+        log.debug("Query on sheet '{}' took {} us: {}", query.getSheetName(), (System.nanoTime() - start) / 1000, query);
+        return result;
+    }
+
+    /**
+     * Executes a query against in-memory sheet data.
+     *
+     * @param data  Rows of the sheet (first row is the header when query.isHeader())
+     * @param query Query parameters
+     * @return A map with "columns", "rows" and "matched"
+     */
+    public Map<String, Object> execute(List<List<Object>> data, SheetQuery query) {
+        List<String> headers = new ArrayList<>();
+        List<List<Object>> body = data;
+        if (query.isHeader() && !data.isEmpty()) {
+            for (Object name : data.get(0)) {
+                headers.add(String.valueOf(name));
+            }
+            body = data.subList(1, data.size());
+        }
+
+        Predicate<List<Object>> filter = row -> true;
+        for (String expression : query.getWhere()) {
+            filter = filter.and(parseFilter(expression, headers));
+        }
+
+        Stream<List<Object>> stream = body.size() >= PARALLEL_THRESHOLD ? body.parallelStream() : body.stream();
+        List<List<Object>> matched = stream.filter(filter).collect(Collectors.toList());
+
+        Map<String, Object> result = (query.getGroupBy() != null || !query.getAgg().isEmpty())
+                ? aggregate(matched, headers, query)
+                : select(matched, headers, query);
+        result.put("matched", matched.size());
+        return result;
+    }
+
+    private Map<String, Object> select(List<List<Object>> rows, List<String> headers, SheetQuery query) {
+        if (query.getOrderBy() != null) {
+            int orderIndex = resolveColumn(query.getOrderBy(), headers);
+            Comparator<List<Object>> comparator = (a, b) -> compareValues(cell(a, orderIndex), cell(b, orderIndex));
+            if (query.isDesc()) {
+                comparator = comparator.reversed();
+            }
+            Stream<List<Object>> stream = rows.size() >= PARALLEL_THRESHOLD ? rows.parallelStream() : rows.stream();
+            rows = stream.sorted(comparator).collect(Collectors.toList());
+        }
+        if (query.getLimit() != null && query.getLimit() >= 0 && query.getLimit() < rows.size()) {
+            rows = rows.subList(0, query.getLimit());
+        }
+
+        List<String> columns = new ArrayList<>();
+        int[] projection = null;
+        if (!query.getSelect().isEmpty()) {
+            projection = new int[query.getSelect().size()];
+            for (int i = 0; i < projection.length; i++) {
+                String name = query.getSelect().get(i);
+                projection[i] = resolveColumn(name, headers);
+                columns.add(name);
+            }
+        } else {
+            columns.addAll(headers);
+        }
+
+        List<List<Object>> output = new ArrayList<>(rows.size());
+        for (List<Object> row : rows) {
+            if (projection == null) {
+                output.add(row);
+            } else {
+                List<Object> projected = new ArrayList<>(projection.length);
+                for (int index : projection) {
+                    projected.add(cell(row, index));
+                }
+                output.add(projected);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("columns", columns);
+        result.put("rows", output);
+        return result;
+    }
+
+    private Map<String, Object> aggregate(List<List<Object>> rows, List<String> headers, SheetQuery query) {
+        int groupIndex = query.getGroupBy() == null ? -1 : resolveColumn(query.getGroupBy(), headers);
+        List<Aggregate> aggregates = new ArrayList<>();
+        for (String expression : query.getAgg()) {
+            aggregates.add(parseAggregate(expression, headers));
+        }
+        if (aggregates.isEmpty()) {
+            aggregates.add(new Aggregate(Function.COUNT, -1, "count(*)"));
+        }
+
+        Stream<List<Object>> stream = rows.size() >= PARALLEL_THRESHOLD ? rows.parallelStream() : rows.stream();
+        Map<String, Accumulator> groups = stream.collect(
+                HashMap::new,
+                (map, row) -> map.computeIfAbsent(groupIndex < 0 ? "" : text(cell(row, groupIndex)),
+                        key -> new Accumulator(aggregates.size())).add(row, aggregates),
+                (left, right) -> right.forEach((key, acc) -> left.merge(key, acc, Accumulator::merge)));
+
+        List<String> columns = new ArrayList<>();
+        if (groupIndex >= 0) {
+            columns.add(query.getGroupBy());
+        }
+        aggregates.forEach(aggregate -> columns.add(aggregate.label));
+
+        List<List<Object>> output = new ArrayList<>(groups.size());
+        groups.forEach((key, acc) -> {
+            List<Object> row = new ArrayList<>(columns.size());
+            if (groupIndex >= 0) {
+                row.add(key);
+            }
+            for (int i = 0; i < aggregates.size(); i++) {
+                row.add(acc.result(i, aggregates.get(i).function));
+            }
+            output.add(row);
+        });
+
+        // Grouped results are ordered by an output column (group key or aggregate label), defaulting to the group key
+        int orderIndex = query.getOrderBy() != null ? columns.indexOf(query.getOrderBy()) : 0;
+        if (orderIndex < 0) {
+            throw new IllegalArgumentException("orderBy '" + query.getOrderBy() + "' must be one of " + columns);
+        }
+        Comparator<List<Object>> comparator = (a, b) -> compareValues(a.get(orderIndex), b.get(orderIndex));
+        output.sort(query.isDesc() ? comparator.reversed() : comparator);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("columns", columns);
+        result.put("rows", query.getLimit() != null && query.getLimit() >= 0 && query.getLimit() < output.size()
+                ? output.subList(0, query.getLimit()) : output);
+        return result;
+    }
+
+    private Predicate<List<Object>> parseFilter(String expression, List<String> headers) {
+        Matcher matcher = FILTER_PATTERN.matcher(expression);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid filter '" + expression + "'");
+        }
+        int index = resolveColumn(matcher.group(1).trim(), headers);
+        String operator = matcher.group(2);
+        String operand = matcher.group(3).trim();
+        Double number = toNumber(operand);
+        String lowerOperand = operand.toLowerCase(Locale.ROOT);
+
+        return switch (operator) {
+            case "~" -> row -> text(cell(row, index)).toLowerCase(Locale.ROOT).contains(lowerOperand);
+            case "=" -> row -> compareTo(cell(row, index), operand, number) == 0;
+            case "!=" -> row -> compareTo(cell(row, index), operand, number) != 0;
+            case ">" -> row -> compareTo(cell(row, index), operand, number) > 0;
+            case ">=" -> row -> compareTo(cell(row, index), operand, number) >= 0;
+            case "<" -> row -> compareTo(cell(row, index), operand, number) < 0;
+            default -> row -> compareTo(cell(row, index), operand, number) <= 0;
+        };
+    }
+
+    private Aggregate parseAggregate(String expression, List<String> headers) {
+        int separator = expression.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid aggregate '" + expression + "', expected function:column");
+        }
+        Function function;
+        try {
+            function = Function.valueOf(expression.substring(0, separator).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown aggregate function in '" + expression + "'");
+        }
+        String column = expression.substring(separator + 1).trim();
+        if ("*".equals(column)) {
+            if (function != Function.COUNT) {
+                throw new IllegalArgumentException("Only count can be applied to '*'");
+            }
+            return new Aggregate(function, -1, "count(*)");
+        }
+        return new Aggregate(function, resolveColumn(column, headers), function.name().toLowerCase(Locale.ROOT) + "(" + column + ")");
+    }
+
+    /**
+     * Resolves a column reference to its 0-based index, by header name first and then by column letter.
+     * With a header row, letters need a "$" prefix ("$B"), so a mistyped short header such as "Qty" is
+     * reported instead of silently selecting column QTY.
+     */
+    private int resolveColumn(String name, List<String> headers) {
+        int index = headers.indexOf(name);
+        if (index >= 0) {
+            return index;
+        }
+        String letters = name.startsWith("$") ? name.substring(1) : headers.isEmpty() ? name : null;
+        if (letters != null && COLUMN_LETTERS.matcher(letters).matches()) {
+            int column = 0;
+            for (char c : letters.toUpperCase(Locale.ROOT).toCharArray()) {
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+        throw new IllegalArgumentException("Unknown column '" + name + "'");
+    }
+
+    private static Object cell(List<Object> row, int index) {
+        return index < row.size() ? row.get(index) : "";
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static int compareTo(Object value, String operand, Double operandNumber) {
+        if (operandNumber != null) {
+            Double number = toNumber(value);
+            if (number != null) {
+                return Double.compare(number, operandNumber);
+            }
+        }
+        return text(value).compareTo(operand);
+    }
+
+    /**
+     * Orders numbers before text and blanks last, then compares within the type, so the order is
+     * transitive on mixed columns (comparing "10" numerically with "9" but textually with "1a" is not).
+     */
+    private static int compareValues(Object a, Object b) {
+        Double x = toNumber(a);
+        Double y = toNumber(b);
+        int rankA = rank(a, x);
+        int rankB = rank(b, y);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        if (rankA == 0) {
+            return Double.compare(x, y);
+        }
+        return text(a).compareTo(text(b));
+    }
+
+    private static int rank(Object value, Double number) {
+        if (number != null) {
+            return 0;
+        }
+        return text(value).isBlank() ? 2 : 1;
+    }
+
+    /**
+     * Parses a cell value as a number, accepting thousands separators ("1,200").
+     * Returns null for anything that is not numeric, without throwing on the common non-numeric case.
+     */
+    private static Double toNumber(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        String text = text(value).trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        char first = text.charAt(0);
+        if (!(Character.isDigit(first) || first == '-' || first == '+' || first == '.')) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(text.indexOf(',') >= 0 ? text.replace(",", "") : text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private enum Function {
+        COUNT, SUM, AVG, MIN, MAX
+    }
+
+    private record Aggregate(Function function, int column, String label) {
+    }
+
+    /**
+     * Per-group running totals for every requested aggregate.
+     */
+    private static class Accumulator {
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        private Accumulator(int size) {
+            counts = new long[size];
+            sums = new double[size];
+            mins = new double[size];
+            maxs = new double[size];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        private Accumulator add(List<Object> row, List<Aggregate> aggregates) {
+            for (int i = 0; i < aggregates.size(); i++) {
+                Aggregate aggregate = aggregates.get(i);
+                if (aggregate.column < 0) {
+                    counts[i]++;
+                    continue;
+                }
+                Object value = cell(row, aggregate.column);
+                if (aggregate.function == Function.COUNT) {
+                    if (!text(value).isEmpty()) {
+                        counts[i]++;
+                    }
+                    continue;
+                }
+                Double number = toNumber(value);
+                if (number != null) {
+                    counts[i]++;
+                    sums[i] += number;
+                    mins[i] = Math.min(mins[i], number);
+                    maxs[i] = Math.max(maxs[i], number);
+                }
+            }
+            return this;
+        }
+
+        private Accumulator merge(Accumulator other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                sums[i] += other.sums[i];
+                mins[i] = Math.min(mins[i], other.mins[i]);
+                maxs[i] = Math.max(maxs[i], other.maxs[i]);
+            }
+            return this;
+        }
+
+        private Object result(int i, Function function) {
+            return switch (function) {
+                case COUNT -> counts[i];
+                case SUM -> sums[i];
+                case AVG -> counts[i] == 0 ? null : sums[i] / counts[i];
+                case MIN -> counts[i] == 0 ? null : mins[i];
+                case MAX -> counts[i] == 0 ? null : maxs[i];
+            };
+        }
+    }
+}
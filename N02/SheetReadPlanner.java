@@ -0,0 +1,495 @@
+package com.psc.sw.website.component;
+
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Coalesces range reads into values().batchGet calls.
+ * Reads of the same spreadsheet submitted within a short window are collected; their A1 ranges are
+ * normalized, overlapping or adjacent ranges of the same sheet are merged into one, and the merged ranges
+ * are fetched with a single batchGet. Each caller then receives the slice of the merged result covering
+ * its own range, shaped like a values().get response (trailing empty rows and cells omitted, null if empty).
+ * Ranges that cannot be normalized (named ranges, ranges without a sheet name) are read on their own.
+ * Every queued read is completed exactly once, whether its batch succeeds, fails or is discarded on shutdown,
+ * and callers stop waiting after a timeout in any case.
+ */
+@Slf4j
+public class SheetReadPlanner {
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+    private static final int MAX_BATCH_RANGES = 100;
+    private static final Pattern CELLS = Pattern.compile("([A-Z]*)([0-9]*)(?::([A-Z]*)([0-9]*))?");
+
+    private final long windowMillis;
+    private final long timeoutMillis;
+    private final BatchReader batchReader;
+    private final ConcurrentMap<String, Batch> open = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public SheetReadPlanner(long windowMillis, long timeoutMillis, int threads, BatchReader batchReader) {
+        this.windowMillis = windowMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.batchReader = batchReader;
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "sheet-read-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads a range, batched with the other reads of the same spreadsheet in the current window.
+     *
+     * @param spreadsheetId ID of the spreadsheet to read from
+     * @param range         Range in A1 notation
+     * @return List of rows, where each row is a list of cell values (null if the range is empty)
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    public List<List<Object>> read(String spreadsheetId, String range) throws GeneralSecurityException, IOException {
+        GridRange gridRange = GridRange.parse(range);
+        if (gridRange == null) {
+            return valuesOf(batchReader.read(spreadsheetId, Collections.singletonList(range)).get(0));
+        }
+        Pending pending = new Pending(gridRange);
+        enqueue(spreadsheetId, pending);
+        try {
+            return pending.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for range read", e);
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out after " + timeoutMillis + " ms waiting for range read of " + range, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof GeneralSecurityException securityException) {
+                throw securityException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Stops the scheduler and fails the reads of every batch that has not been flushed yet.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        IOException shutDown = new IOException("Sheet read planner has been shut down");
+        for (Batch batch : open.values()) {
+            open.remove(batch.spreadsheetId, batch);
+            List<Pending> pendings = batch.close();
+            if (pendings != null) {
+                pendings.forEach(pending -> pending.future.completeExceptionally(shutDown));
+            }
+        }
+    }
+
+    private void enqueue(String spreadsheetId, Pending pending) {
+        while (true) {
+            Batch batch = open.computeIfAbsent(spreadsheetId, id -> {
+                Batch created = new Batch(spreadsheetId);
+                scheduler.schedule(() -> flush(created), windowMillis, TimeUnit.MILLISECONDS);
+                return created;
+            });
+            int size = batch.add(pending);
+            if (size < 0) {
+                continue; // Closed by a concurrent flush; open a new batch
+            }
+            if (size >= MAX_BATCH_RANGES) {
+                scheduler.execute(() -> flush(batch));
+            }
+            return;
+        }
+    }
+
+    private void flush(Batch batch) {
+        open.remove(batch.spreadsheetId, batch);
+        List<Pending> pendings = batch.close();
+        if (pendings == null) {
+            return; // Already flushed
+        }
+        // Attribute the batchGet to the trace of the request that opened the batch
+        try (Scope ignored = pendings.get(0).context.makeCurrent()) {
+            List<GridRange> merged = merge(pendings);
+            fetch(batch.spreadsheetId, merged, pendings);
+        } catch (Throwable e) {
+            // Whatever failed (merging, slicing, an Error), no caller may be left waiting; completed futures are unaffected
+            log.error("Flushing {} range read(s) of spreadsheet ID: {} failed: {}", pendings.size(), batch.spreadsheetId, e.toString());
+            pendings.forEach(pending -> pending.future.completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Merges the pending ranges until no two of them overlap or touch, and assigns each pending read its merged range.
+     */
+    private static List<GridRange> merge(List<Pending> pendings) {
+        List<GridRange> merged = new ArrayList<>();
+        for (Pending pending : pendings) {
+            merged.add(pending.range);
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < merged.size() && !changed; i++) {
+                for (int j = i + 1; j < merged.size() && !changed; j++) {
+                    GridRange union = merged.get(i).union(merged.get(j));
+                    if (union != null) {
+                        merged.set(i, union);
+                        merged.remove(j);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        for (Pending pending : pendings) {
+            pending.source = merged.stream().filter(range -> range.contains(pending.range)).findFirst().orElseThrow();
+        }
+        return merged;
+    }
+
+    private void fetch(String spreadsheetId, List<GridRange> merged, List<Pending> pendings) {
+        List<String> a1Ranges = new ArrayList<>();
+        merged.forEach(range -> a1Ranges.add(range.toA1()));
+        Map<GridRange, List<List<Object>>> results = new LinkedHashMap<>();
+        try {
+            List<ValueRange> valueRanges = batchReader.read(spreadsheetId, a1Ranges);
+            for (int i = 0; i < merged.size(); i++) {
+                results.put(merged.get(i), valuesOf(valueRanges.get(i)));
+            }
+            log.debug("Read {} range(s) of spreadsheet ID: {} with one batchGet of {} range(s)", pendings.size(), spreadsheetId, merged.size());
+        } catch (Exception e) {
+            if (merged.size() == 1) {
+                pendings.forEach(pending -> pending.future.completeExceptionally(e));
+                return;
+            }
+            // One bad range (e.g. a deleted sheet) fails the whole batchGet; read each merged range on its own
+            log.warn("batchGet of {} ranges failed for spreadsheet ID: {} ({}); reading individually", merged.size(), spreadsheetId, e.getMessage());
+            for (GridRange range : merged) {
+                List<Pending> readers = pendings.stream().filter(pending -> pending.source == range).toList();
+                fetch(spreadsheetId, Collections.singletonList(range), readers);
+            }
+            return;
+        }
+        for (Pending pending : pendings) {
+            pending.future.complete(pending.range.slice(pending.source, results.get(pending.source)));
+        }
+    }
+
+    private static List<List<Object>> valuesOf(ValueRange valueRange) {
+        return valueRange == null ? null : valueRange.getValues();
+    }
+
+    /**
+     * Reads several A1 ranges of a spreadsheet in one call, returning one ValueRange per range in the same order.
+     */
+    @FunctionalInterface
+    public interface BatchReader {
+        List<ValueRange> read(String spreadsheetId, List<String> ranges) throws GeneralSecurityException, IOException;
+    }
+
+    /**
+     * Reads of one spreadsheet collected during one window.
+     */
+    private static class Batch {
+        private final String spreadsheetId;
+        private List<Pending> pendings = new ArrayList<>();
+
+        private Batch(String spreadsheetId) {
+            this.spreadsheetId = spreadsheetId;
+        }
+
+        /**
+         * @return Number of reads in the batch, or -1 if the batch was already flushed
+         */
+        private synchronized int add(Pending pending) {
+            if (pendings == null) {
+                return -1;
+            }
+            pendings.add(pending);
+            return pendings.size();
+        }
+
+        private synchronized List<Pending> close() {
+            List<Pending> closed = pendings;
+            pendings = null;
+            return closed;
+        }
+    }
+
+    private static class Pending {
+        private final GridRange range;
+        private final CompletableFuture<List<List<Object>>> future = new CompletableFuture<>();
+        private final Context context = Context.current();
+        private GridRange source; // Merged range this read is sliced from
+
+        private Pending(GridRange range) {
+            this.range = range;
+        }
+    }
+
+    /**
+     * Normalized A1 range: sheet name plus 0-based inclusive row and column bounds (UNBOUNDED for open ends).
+     * Only shapes that A1 notation can express are produced: whole sheet, row bands (1:5), column bands (A:C),
+     * boxes (A1:C10) and boxes open at the bottom (A5:C).
+     */
+    static final class GridRange {
+        private final String sheet;
+        private final int startRow;
+        private final int endRow;
+        private final int startCol;
+        private final int endCol;
+
+        private GridRange(String sheet, int startRow, int endRow, int startCol, int endCol) {
+            this.sheet = sheet;
+            this.startRow = startRow;
+            this.endRow = endRow;
+            this.startCol = startCol;
+            this.endCol = endCol;
+        }
+
+        /**
+         * @return The normalized range, or null if the range is not a plain sheet-qualified A1 range
+         */
+        static GridRange parse(String range) {
+            if (range == null || range.isBlank()) {
+                return null;
+            }
+            String sheet;
+            String cells;
+            if (range.startsWith("'")) {
+                int end = 1;
+                StringBuilder name = new StringBuilder();
+                while (true) {
+                    int quote = range.indexOf('\'', end);
+                    if (quote < 0) {
+                        return null;
+                    }
+                    name.append(range, end, quote);
+                    if (quote + 1 < range.length() && range.charAt(quote + 1) == '\'') {
+                        name.append('\'');
+                        end = quote + 2;
+                    } else {
+                        end = quote + 1;
+                        break;
+                    }
+                }
+                sheet = name.toString();
+                if (end == range.length()) {
+                    cells = null;
+                } else if (range.charAt(end) == '!') {
+                    cells = range.substring(end + 1);
+                } else {
+                    return null;
+                }
+            } else {
+                int bang = range.lastIndexOf('!');
+                if (bang < 0) {
+                    // A bare cell reference (up to column ZZZ) refers to the first sheet; anything else is a sheet name
+                    Matcher bare = CELLS.matcher(range.toUpperCase(Locale.ROOT));
+                    if (bare.matches() && bare.group(1).length() <= 3) {
+                        return null;
+                    }
+                    sheet = range;
+                    cells = null;
+                } else {
+                    sheet = range.substring(0, bang);
+                    cells = range.substring(bang + 1);
+                }
+            }
+            if (cells == null) {
+                return new GridRange(sheet, 0, UNBOUNDED, 0, UNBOUNDED);
+            }
+            Matcher m = CELLS.matcher(cells.toUpperCase(Locale.ROOT));
+            if (!m.matches()) {
+                return null;
+            }
+            String c1 = m.group(1), r1 = m.group(2), c2 = m.group(3), r2 = m.group(4);
+            boolean single = c2 == null;
+            if (single) {
+                if (c1.isEmpty() || r1.isEmpty()) {
+                    return null;
+                }
+                return box(sheet, row(r1), row(r1), column(c1), column(c1));
+            }
+            if (!c1.isEmpty() && !r1.isEmpty() && !c2.isEmpty() && !r2.isEmpty()) {
+                return box(sheet, row(r1), row(r2), column(c1), column(c2));
+            }
+            if (!c1.isEmpty() && r1.isEmpty() && !c2.isEmpty() && r2.isEmpty()) {
+                return box(sheet, 0, UNBOUNDED, column(c1), column(c2));
+            }
+            if (c1.isEmpty() && !r1.isEmpty() && c2.isEmpty() && !r2.isEmpty()) {
+                return box(sheet, row(r1), row(r2), 0, UNBOUNDED);
+            }
+            if (!c1.isEmpty() && !r1.isEmpty() && !c2.isEmpty()) {
+                return box(sheet, row(r1), UNBOUNDED, column(c1), column(c2));
+            }
+            return null;
+        }
+
+        private static GridRange box(String sheet, int row1, int row2, int col1, int col2) {
+            if (row1 < 0 || row2 < 0 || col1 < 0 || col2 < 0) {
+                return null;
+            }
+            return new GridRange(sheet, Math.min(row1, row2), Math.max(row1, row2), Math.min(col1, col2), Math.max(col1, col2));
+        }
+
+        private static int row(String digits) {
+            try {
+                return Integer.parseInt(digits) - 1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private static int column(String letters) {
+            if (letters.length() > 3) {
+                return -1;
+            }
+            int index = 0;
+            for (int i = 0; i < letters.length(); i++) {
+                index = index * 26 + (letters.charAt(i) - 'A' + 1);
+            }
+            return index - 1;
+        }
+
+        boolean contains(GridRange other) {
+            return sheet.equals(other.sheet)
+                    && startRow <= other.startRow && endRow >= other.endRow
+                    && startCol <= other.startCol && endCol >= other.endCol;
+        }
+
+        /**
+         * @return The union if it is exactly a rectangle (one range contains the other, or they overlap or touch
+         * along a shared edge of equal length), otherwise null
+         */
+        GridRange union(GridRange other) {
+            if (contains(other)) {
+                return this;
+            }
+            if (other.contains(this)) {
+                return other;
+            }
+            if (!sheet.equals(other.sheet)) {
+                return null;
+            }
+            if (startCol == other.startCol && endCol == other.endCol && touches(startRow, endRow, other.startRow, other.endRow)) {
+                return new GridRange(sheet, Math.min(startRow, other.startRow), Math.max(endRow, other.endRow), startCol, endCol);
+            }
+            if (startRow == other.startRow && endRow == other.endRow && touches(startCol, endCol, other.startCol, other.endCol)) {
+                return new GridRange(sheet, startRow, endRow, Math.min(startCol, other.startCol), Math.max(endCol, other.endCol));
+            }
+            return null;
+        }
+
+        private static boolean touches(int start1, int end1, int start2, int end2) {
+            return (long) start1 <= (long) end2 + 1 && (long) start2 <= (long) end1 + 1;
+        }
+
+        String toA1() {
+            String quoted = "'" + sheet.replace("'", "''") + "'";
+            boolean allRows = startRow == 0 && endRow == UNBOUNDED;
+            boolean allColumns = startCol == 0 && endCol == UNBOUNDED;
+            if (allRows && allColumns) {
+                return quoted;
+            }
+            if (allColumns) {
+                return quoted + "!" + (startRow + 1) + ":" + (endRow + 1);
+            }
+            String from = columnName(startCol) + (allRows ? "" : String.valueOf(startRow + 1));
+            String to = columnName(endCol) + (endRow == UNBOUNDED ? "" : String.valueOf(endRow + 1));
+            return quoted + "!" + from + ":" + to;
+        }
+
+        private static String columnName(int colIndex) {
+            StringBuilder name = new StringBuilder();
+            colIndex++;
+            while (colIndex > 0) {
+                int rem = (colIndex - 1) % 26;
+                name.insert(0, (char) ('A' + rem));
+                colIndex = (colIndex - 1) / 26;
+            }
+            return name.toString();
+        }
+
+        /**
+         * Cuts this range out of the values of a range containing it, trimming trailing empty rows and cells
+         * the way values().get does.
+         *
+         * @param source Range the values were read from
+         * @param values Values of the source range (may be null)
+         * @return Values of this range, or null if it is empty
+         */
+        List<List<Object>> slice(GridRange source, List<List<Object>> values) {
+            if (values == null) {
+                return null;
+            }
+            if (source == this) {
+                return values;
+            }
+            int rowFrom = startRow - source.startRow;
+            int rowTo = endRow == UNBOUNDED ? values.size() : (int) Math.min(values.size(), (long) endRow - source.startRow + 1);
+            int colFrom = startCol - source.startCol;
+            long colCount = (long) endCol - startCol + 1;
+            List<List<Object>> sliced = new ArrayList<>();
+            for (int r = rowFrom; r < rowTo; r++) {
+                List<Object> row = values.get(r);
+                int to = (int) Math.min(row.size(), colFrom + colCount);
+                List<Object> cells = colFrom >= to ? new ArrayList<>() : new ArrayList<>(row.subList(colFrom, to));
+                while (!cells.isEmpty() && "".equals(cells.get(cells.size() - 1))) {
+                    cells.remove(cells.size() - 1);
+                }
+                sliced.add(cells);
+            }
+            while (!sliced.isEmpty() && sliced.get(sliced.size() - 1).isEmpty()) {
+                sliced.remove(sliced.size() - 1);
+            }
+            return sliced.isEmpty() ? null : sliced;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GridRange other)) {
+                return false;
+            }
+            return sheet.equals(other.sheet) && startRow == other.startRow && endRow == other.endRow
+                    && startCol == other.startCol && endCol == other.endCol;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sheet, startRow, endRow, startCol, endCol);
+        }
+    }
+}
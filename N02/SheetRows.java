@@ -0,0 +1,170 @@
+package com.psc.sw.website.component;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, structurally shared list of sheet rows, used by the cache so every edit yields a new version
+ * without copying the whole sheet. Rows are stored in chunks of up to 2 x CHUNK_SIZE rows; an edit copies only
+ * the chunks it touches plus the (small) chunk index, and shares every other chunk and every row with the
+ * previous version. Readers holding an older version keep seeing it unchanged.
+ */
+public final class SheetRows extends AbstractList<List<Object>> implements RandomAccess {
+
+    private static final int CHUNK_SIZE = 64;
+    private static final SheetRows EMPTY = new SheetRows(new Object[0][], new int[0]);
+
+    private final Object[][] chunks; // Each element is an unmodifiable List<Object> row
+    private final int[] ends;        // ends[i] = index after the last row of chunk i
+
+    private SheetRows(Object[][] chunks, int[] ends) {
+        this.chunks = chunks;
+        this.ends = ends;
+    }
+
+    /**
+     * Copies rows into a new list; rows become unmodifiable and null rows empty.
+     *
+     * @param rows Rows as returned by the Sheets API (may be null)
+     * @return The list
+     */
+    public static SheetRows of(List<List<Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return EMPTY;
+        }
+        if (rows instanceof SheetRows sheetRows) {
+            return sheetRows;
+        }
+        List<Object> copied = new ArrayList<>(rows.size());
+        for (List<Object> row : rows) {
+            copied.add(row == null || row.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(row)));
+        }
+        return EMPTY.splice(0, 0, copied);
+    }
+
+    /**
+     * Same as of, but takes the rows as they are, so they stay shared with the given list.
+     *
+     * @param rows Rows that are already unmodifiable (none of them null)
+     * @return The list
+     */
+    public static SheetRows ofUnmodifiableRows(List<List<Object>> rows) {
+        return rows.isEmpty() ? EMPTY : EMPTY.splice(0, 0, new ArrayList<>(rows));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int chunk = chunkOf(index);
+        return (List<Object>) chunks[chunk][index - start(chunk)];
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    /**
+     * Returns a version with one row replaced, padding the sheet with empty rows if the index is past the end.
+     *
+     * @param index Row index (0-based)
+     * @param row   New row, already unmodifiable
+     * @return The new version
+     */
+    public SheetRows withRow(int index, List<Object> row) {
+        int size = size();
+        if (index < size) {
+            return splice(index, index + 1, Collections.singletonList(row));
+        }
+        List<Object> appended = new ArrayList<>(Collections.nCopies(index - size, Collections.emptyList()));
+        appended.add(row);
+        return splice(size, size, appended);
+    }
+
+    /**
+     * @param index Index at which to insert (clamped to the size)
+     * @param count Number of empty rows to insert
+     * @return The new version
+     */
+    public SheetRows withRowsInserted(int index, int count) {
+        int at = Math.min(index, size());
+        return splice(at, at, Collections.nCopies(count, Collections.emptyList()));
+    }
+
+    /**
+     * @param index First row to delete
+     * @param count Number of rows to delete (rows past the end are ignored)
+     * @return The new version
+     */
+    public SheetRows withRowsDeleted(int index, int count) {
+        int size = size();
+        if (index >= size) {
+            return this;
+        }
+        return splice(index, Math.min(size, index + count), Collections.emptyList());
+    }
+
+    /**
+     * Replaces rows [from, to) with the given rows, copying only the chunks overlapping that range.
+     */
+    private SheetRows splice(int from, int to, List<Object> replacement) {
+        if (chunks.length == 0) {
+            return build(new Object[0][], replacement, new Object[0][]);
+        }
+        int size = size();
+        int first = from == size ? chunks.length - 1 : chunkOf(from);
+        int last = to > from ? chunkOf(to - 1) : first;
+
+        List<Object> middle = new ArrayList<>(replacement.size() + 2 * CHUNK_SIZE);
+        int firstStart = start(first);
+        middle.addAll(Arrays.asList(chunks[first]).subList(0, from - firstStart));
+        middle.addAll(replacement);
+        int lastStart = start(last);
+        Object[] lastChunk = chunks[last];
+        middle.addAll(Arrays.asList(lastChunk).subList(Math.max(0, to - lastStart), lastChunk.length));
+
+        return build(Arrays.copyOfRange(chunks, 0, first), middle, Arrays.copyOfRange(chunks, last + 1, chunks.length));
+    }
+
+    private static SheetRows build(Object[][] before, List<Object> middle, Object[][] after) {
+        List<Object[]> pieces = new ArrayList<>();
+        if (middle.size() <= 2 * CHUNK_SIZE) {
+            if (!middle.isEmpty()) {
+                pieces.add(middle.toArray());
+            }
+        } else {
+            for (int i = 0; i < middle.size(); i += CHUNK_SIZE) {
+                pieces.add(middle.subList(i, Math.min(middle.size(), i + CHUNK_SIZE)).toArray());
+            }
+        }
+        Object[][] chunks = new Object[before.length + pieces.size() + after.length][];
+        System.arraycopy(before, 0, chunks, 0, before.length);
+        for (int i = 0; i < pieces.size(); i++) {
+            chunks[before.length + i] = pieces.get(i);
+        }
+        System.arraycopy(after, 0, chunks, before.length + pieces.size(), after.length);
+        int[] ends = new int[chunks.length];
+        int end = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            end += chunks[i].length;
+            ends[i] = end;
+        }
+        return chunks.length == 0 ? EMPTY : new SheetRows(chunks, ends);
+    }
+
+    private int start(int chunk) {
+        return chunk == 0 ? 0 : ends[chunk - 1];
+    }
+
+    private int chunkOf(int index) {
+        int position = Arrays.binarySearch(ends, index);
+        return position >= 0 ? position + 1 : -position - 1; // ends are exclusive
+    }
+}
@@ -0,0 +1,351 @@
+package com.psc.sw.website.service;
+
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.psc.sw.website.event.SheetChangeEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over every sheet of a spreadsheet.
+ * Cell values are tokenized and mapped to (sheet, row, col) postings; the index is built once per
+ * spreadsheet on first search and then kept up to date from SheetChangeEvents, so searches never
+ * touch the Sheets API.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SheetSearchService {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final SheetService sheetService;
+    private final ConcurrentMap<String, IndexHolder> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Searches all sheets of a spreadsheet. Every query token must match (as a prefix) a token of the cell.
+     *
+     * @param spreadsheetId ID of the spreadsheet to search
+     * @param q             Search text
+     * @param limit         Maximum number of hits to return (null for the default)
+     * @return List of hits, each with sheetName, rowIndex, colIndex (0-based) and value
+     * @throws GeneralSecurityException If there is a security-related error while building the index
+     * @throws IOException              If there is a network or I/O error while building the index
+     */
+    public List<Map<String, Object>> search(String spreadsheetId, String q, Integer limit) throws GeneralSecurityException, IOException {
+        List<String> tokens = tokenize(q);
+        List<Map<String, Object>> hits = new ArrayList<>();
+        if (tokens.isEmpty()) {
+            return hits;
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : limit;
+        for (Map.Entry<String, SheetIndex> entry : getIndex(spreadsheetId).entrySet()) {
+            entry.getValue().search(entry.getKey(), tokens, max - hits.size(), hits);
+            if (hits.size() >= max) {
+                break;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the index of a spreadsheet, building it on first use. Only callers of the same spreadsheet wait
+     * for a build; the holder is registered before building, so change events arriving meanwhile are buffered.
+     */
+    private ConcurrentMap<String, SheetIndex> getIndex(String spreadsheetId) throws GeneralSecurityException, IOException {
+        IndexHolder holder = indexes.get(spreadsheetId);
+        if (holder == null) {
+            IndexHolder created = new IndexHolder();
+            holder = indexes.putIfAbsent(spreadsheetId, created);
+            if (holder == null) {
+                holder = created;
+                build(spreadsheetId, created);
+            }
+        }
+        try {
+            return holder.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the search index", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof GeneralSecurityException securityException) {
+                throw securityException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void build(String spreadsheetId, IndexHolder holder) {
+        long start = System.currentTimeMillis();
+        ConcurrentMap<String, SheetIndex> index = new ConcurrentHashMap<>();
+        boolean invalidated = false;
+        try {
+            for (Sheet sheet : sheetService.getAllSheets(spreadsheetId)) {
+                String sheetName = sheet.getProperties().getTitle();
+                index.put(sheetName, indexSheet(spreadsheetId, sheetName));
+            }
+            // Events buffered during the build may or may not be reflected in the data read above, so the sheets
+            // they touched are re-indexed from the (already updated) cache rather than replayed
+            synchronized (holder) {
+                for (SheetChangeEvent event : holder.buffered) {
+                    switch (event.getType()) {
+                        case SHEET_REMOVED -> index.remove(event.getSheetName());
+                        case SHEET_RENAMED -> {
+                            index.remove(event.getSheetName());
+                            index.put(event.getNewSheetName(), indexSheet(spreadsheetId, event.getNewSheetName()));
+                        }
+                        case SHEET_MOVED -> {
+                            // Cell positions are unaffected
+                        }
+                        case DATA_INVALIDATED -> invalidated = true;
+                        default -> index.put(event.getSheetName(), indexSheet(spreadsheetId, event.getSheetName()));
+                    }
+                }
+                if (invalidated) {
+                    indexes.remove(spreadsheetId, holder); // Waiting callers get this index; the next search rebuilds
+                }
+                // Completed before buffering stops, so an event that finds buffered == null always finds the index
+                holder.future.complete(index);
+                holder.buffered = null;
+            }
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            indexes.remove(spreadsheetId, holder); // Retried on the next search
+            holder.future.completeExceptionally(e);
+            return;
+        }
+        log.info("Built search index for spreadsheet ID: {} ({} sheets in {} ms)", spreadsheetId, index.size(), System.currentTimeMillis() - start);
+    }
+
+    private SheetIndex indexSheet(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
+        SheetIndex sheetIndex = new SheetIndex();
+        List<List<Object>> rows = sheetService.getCachedSheetData(spreadsheetId, sheetName);
+        for (int r = 0; r < rows.size(); r++) {
+            List<Object> row = rows.get(r);
+            for (int c = 0; c < row.size(); c++) {
+                sheetIndex.put(r, c, row.get(c) == null ? "" : row.get(c).toString());
+            }
+        }
+        return sheetIndex;
+    }
+
+    /**
+     * Applies a mutation to the index of an already indexed spreadsheet.
+     *
+     * @param event The change that was applied
+     */
+    @EventListener
+    public void onSheetChange(SheetChangeEvent event) {
+        IndexHolder holder = indexes.get(event.getSpreadsheetId());
+        if (holder == null) {
+            return; // Not indexed yet; it will be built from fresh data on first search
+        }
+        synchronized (holder) {
+            if (holder.buffered != null) {
+                holder.buffered.add(event); // Build in progress; applied once it finishes
+                return;
+            }
+        }
+        if (holder.future.isCompletedExceptionally()) {
+            return; // Build failed; the holder has been removed and the next search rebuilds
+        }
+        ConcurrentMap<String, SheetIndex> index = holder.future.join(); // Completed before buffered was cleared
+        switch (event.getType()) {
+            case SHEET_ADDED -> index.putIfAbsent(event.getSheetName(), new SheetIndex());
+            case SHEET_REMOVED -> index.remove(event.getSheetName());
+            case SHEET_RENAMED -> {
+                SheetIndex sheetIndex = index.remove(event.getSheetName());
+                if (sheetIndex != null) {
+                    index.put(event.getNewSheetName(), sheetIndex);
+                }
+            }
+            case SHEET_MOVED -> {
+                // Cell positions are unaffected
+            }
+            case DATA_INVALIDATED -> indexes.remove(event.getSpreadsheetId(), holder); // Rebuilt from fresh data on next search
+            default -> {
+                SheetIndex sheetIndex = index.get(event.getSheetName());
+                if (sheetIndex == null) {
+                    return;
+                }
+                switch (event.getType()) {
+                    case CELL_UPDATED -> sheetIndex.put(event.getRowIndex(), event.getColIndex(), event.getValue());
+                    case ROWS_INSERTED -> sheetIndex.shift(true, event.getStartIndex(), event.getCount());
+                    case ROWS_DELETED -> sheetIndex.shift(true, event.getStartIndex(), -event.getCount());
+                    case COLUMNS_INSERTED -> sheetIndex.shift(false, event.getStartIndex(), event.getCount());
+                    case COLUMNS_DELETED -> sheetIndex.shift(false, event.getStartIndex(), -event.getCount());
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a value into lower-cased letter/digit tokens (works for Hangul as well as Latin text).
+     */
+    static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (value == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            boolean wordChar = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(value.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Index of a spreadsheet, completed once built. Until then, change events are buffered.
+     */
+    private static class IndexHolder {
+        private final CompletableFuture<ConcurrentMap<String, SheetIndex>> future = new CompletableFuture<>();
+        private List<SheetChangeEvent> buffered = new ArrayList<>(); // Null once the build has finished
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Index of a single sheet: cell values plus token -> cell postings, sorted for prefix lookups.
+     */
+    private static class SheetIndex {
+        private final Map<Long, String> cells = new HashMap<>();
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private void put(int row, int col, String value) {
+            long cellKey = key(row, col);
+            lock.writeLock().lock();
+            try {
+                String old = cells.remove(cellKey);
+                if (old != null) {
+                    for (String token : tokenize(old)) {
+                        Set<Long> cellKeys = postings.get(token);
+                        if (cellKeys != null && cellKeys.remove(cellKey) && cellKeys.isEmpty()) {
+                            postings.remove(token);
+                        }
+                    }
+                }
+                if (value != null && !value.isEmpty()) {
+                    cells.put(cellKey, value);
+                    for (String token : tokenize(value)) {
+                        postings.computeIfAbsent(token, t -> new HashSet<>()).add(cellKey);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Re-keys cells after rows (or columns) were inserted (delta > 0) or deleted (delta < 0) at start.
+         */
+        private void shift(boolean rows, int start, int delta) {
+            lock.writeLock().lock();
+            try {
+                if (delta < 0) {
+                    List<Long> removed = new ArrayList<>();
+                    for (Long cellKey : cells.keySet()) {
+                        int position = rows ? (int) (cellKey >> 32) : (int) (long) cellKey;
+                        if (position >= start && position < start - delta) {
+                            removed.add(cellKey);
+                        }
+                    }
+                    for (Long cellKey : removed) {
+                        for (String token : tokenize(cells.remove(cellKey))) {
+                            Set<Long> cellKeys = postings.get(token);
+                            if (cellKeys != null && cellKeys.remove(cellKey) && cellKeys.isEmpty()) {
+                                postings.remove(token);
+                            }
+                        }
+                    }
+                }
+                int from = delta < 0 ? start - delta : start;
+                Map<Long, String> shiftedCells = new HashMap<>(cells.size() * 2);
+                cells.forEach((cellKey, value) -> shiftedCells.put(shiftKey(cellKey, rows, from, delta), value));
+                cells.clear();
+                cells.putAll(shiftedCells);
+                for (Map.Entry<String, Set<Long>> posting : postings.entrySet()) {
+                    Set<Long> shifted = new HashSet<>(posting.getValue().size() * 2);
+                    for (Long cellKey : posting.getValue()) {
+                        shifted.add(shiftKey(cellKey, rows, from, delta));
+                    }
+                    posting.setValue(shifted);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private static long shiftKey(long cellKey, boolean rows, int from, int delta) {
+            int row = (int) (cellKey >> 32);
+            int col = (int) cellKey;
+            if (rows && row >= from) {
+                row += delta;
+            } else if (!rows && col >= from) {
+                col += delta;
+            }
+            return key(row, col);
+        }
+
+        private void search(String sheetName, List<String> tokens, int max, List<Map<String, Object>> hits) {
+            lock.readLock().lock();
+            try {
+                Set<Long> matches = null;
+                for (String token : tokens) {
+                    Set<Long> tokenMatches = new HashSet<>();
+                    for (Set<Long> cellKeys : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                        tokenMatches.addAll(cellKeys);
+                    }
+                    if (matches == null) {
+                        matches = tokenMatches;
+                    } else {
+                        matches.retainAll(tokenMatches);
+                    }
+                    if (matches.isEmpty()) {
+                        return;
+                    }
+                }
+                List<Long> ordered = new ArrayList<>(matches);
+                Collections.sort(ordered);
+                for (Long cellKey : ordered) {
+                    if (max-- <= 0) {
+                        return;
+                    }
+                    Map<String, Object> hit = new LinkedHashMap<>();
+                    hit.put("sheetName", sheetName);
+                    hit.put("rowIndex", (int) (cellKey >> 32));
+                    hit.put("colIndex", (int) (long) cellKey);
+                    hit.put("value", cells.get(cellKey));
+                    hits.add(hit);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
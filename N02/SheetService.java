@@ -1,6 +1,9 @@
 package com.psc.sw.website.service;
 
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.services.sheets.v4.model.*;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auth.http.HttpCredentialsAdapter;
@@ -8,17 +11,39 @@ import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.SheetsScopes;
+import com.psc.sw.website.component.LogSampler;
 import com.psc.sw.website.component.ProfileComponent;
+import com.psc.sw.website.component.SheetDataCache;
+import com.psc.sw.website.component.SheetMutationExecutor;
+import com.psc.sw.website.component.SheetReadPlanner;
+import com.psc.sw.website.component.SheetSnapshotStore;
+import com.psc.sw.website.component.SheetTenant;
+import com.psc.sw.website.component.SheetTenantRegistry;
+import com.psc.sw.website.dto.CellUpdateBatch;
 import com.psc.sw.website.dto.CustomSheet;
+import com.psc.sw.website.event.SheetChangeEvent;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,54 +51,146 @@ import java.util.*;
 public class SheetService {
 
     private final ProfileComponent profileComponent;
+    private final SheetDataCache sheetDataCache;
+    private final SheetSnapshotStore sheetSnapshotStore;
+    private final SheetTenantRegistry tenantRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
     private static final String VALUE_INPUT_OPTION = "RAW";
     private static final String TITLE_FIELD = "title";
+    private static final int MAX_WINDOW_ROWS = 1000;
+    private static final long READ_BATCH_WINDOW_MILLIS = 5;
+    private static final long READ_BATCH_TIMEOUT_MILLIS = 60_000;
+    private static final long MUTATION_TIMEOUT_MILLIS = 60_000;
+    private static final AttributeKey<String> SHEET_NAME = AttributeKey.stringKey("sheet.name");
+    private static final AttributeKey<String> LOOKUP_SOURCE = AttributeKey.stringKey("sheet.lookup.source");
+
+    // Per-call-site sampling of the per-request info lines
+    private static final LogSampler READ_LOG = LogSampler.perSecond(5);
+    private static final LogSampler UPDATE_LOG = LogSampler.perSecond(5);
+
+    private final ConcurrentMap<String, Sheets> sheetsClients = new ConcurrentHashMap<>(); // By credentials file
+    private NetHttpTransport httpTransport;
+
+    // Background refreshes of stale cache entries; at most one in flight per key
+    private final ExecutorService revalidationExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "sheet-revalidate");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    // Structural mutations run in order per spreadsheet, one lane per spreadsheet
+    private final SheetMutationExecutor mutationExecutor = new SheetMutationExecutor(
+            MUTATION_TIMEOUT_MILLIS, this::fetchAllSheets, this::applyMutations);
+
+    // Range reads arriving within a few milliseconds of each other share one batchGet
+    private final SheetReadPlanner readPlanner = new SheetReadPlanner(
+            READ_BATCH_WINDOW_MILLIS, READ_BATCH_TIMEOUT_MILLIS, Runtime.getRuntime().availableProcessors(), this::batchGet);
 
-    private Sheets sheetsService;
+    /**
+     * Returns the Google Sheets service object for the tenant owning a spreadsheet.
+     * Tenants without their own credentials file share the client built from the default credentials;
+     * clients are created on first use and reused afterwards.
+     *
+     * @param spreadsheetId ID of the spreadsheet the client will be used for
+     * @return Initialized Sheets service object
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is an I/O error
+     */
+    private Sheets getSheetsService(String spreadsheetId) throws GeneralSecurityException, IOException {
+        String credentialsFilePath = tenantRegistry.forSpreadsheet(spreadsheetId).getCredentialsFilePath();
+        if (credentialsFilePath == null) {
+            credentialsFilePath = profileComponent.getCredentialsFilePath();
+        }
+        Sheets service = sheetsClients.get(credentialsFilePath);
+        if (service != null) {
+            return service;
+        }
+        // Includes the wait for the creation lock, credential loading and trust store initialization
+        Span span = tracer.spanBuilder("SheetService.createSheetsService").startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return createSheetsService(credentialsFilePath);
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
 
     /**
-     * Initializes the Google Sheets service object if it hasn't been initialized yet.
-     * Returns the existing service object if already initialized.
+     * Initializes a Google Sheets service object for a credentials file if it hasn't been initialized yet.
      *
+     * @param credentialsFilePath Classpath location of the service account credentials
      * @return Initialized Sheets service object
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is an I/O error
      */
-    private synchronized Sheets getSheetsService() throws GeneralSecurityException, IOException {
-        if (sheetsService == null) {
-            final var httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-            ClassPathResource resource = new ClassPathResource(profileComponent.getCredentialsFilePath());
+    private synchronized Sheets createSheetsService(String credentialsFilePath) throws GeneralSecurityException, IOException {
+        Sheets service = sheetsClients.get(credentialsFilePath);
+        if (service == null) {
+            if (httpTransport == null) {
+                httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+            }
+            ClassPathResource resource = new ClassPathResource(credentialsFilePath);
             final GoogleCredentials credentials = GoogleCredentials.fromStream(resource.getInputStream())
                     .createScoped(Collections.singletonList(SheetsScopes.SPREADSHEETS));
-            sheetsService = new Sheets.Builder(httpTransport, JacksonFactory.getDefaultInstance(), new HttpCredentialsAdapter(credentials))
+            service = new Sheets.Builder(httpTransport, JacksonFactory.getDefaultInstance(), new HttpCredentialsAdapter(credentials))
                     .setApplicationName(profileComponent.getApplicationName())
                     .build();
-            log.info("Google Sheets service initialized.");
+            sheetsClients.put(credentialsFilePath, service);
+            log.info("Google Sheets service initialized for credentials: {}", credentialsFilePath);
         }
-        return sheetsService;
+        return service;
     }
 
     /**
-     * Retrieves the sheet ID by its name within a specific spreadsheet.
+     * Executes a Sheets API request within the concurrency and rate budget of the tenant owning the spreadsheet.
+     * Every call gets its own client span (e.g. "sheets Spreadsheets.Values.Get"), including the time spent
+     * waiting for the tenant's budget.
      *
-     * @param service       Sheets service object
-     * @param spreadsheetId ID of the spreadsheet containing the sheet
-     * @param sheetName     Name of the sheet
-     * @return ID of the sheet
-     * @throws IOException              If there is a network or I/O error
-     * @throws IllegalArgumentException If the sheet is not found
+     * @param spreadsheetId ID of the spreadsheet the request targets
+     * @param request       Prepared API request
+     * @return The API response
+     * @throws IOException If there is a network or I/O error
      */
-    private int getSheetIdByName(Sheets service, String spreadsheetId, String sheetName) throws IOException {
-        Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
-        return spreadsheet.getSheets().stream()
-                .filter(sheet -> sheet.getProperties().getTitle().equals(sheetName))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Sheet with name '" + sheetName + "' not found"))
-                .getProperties().getSheetId();
+    private <T> T execute(String spreadsheetId, AbstractGoogleClientRequest<T> request) throws IOException {
+        String requestType = requestType(request);
+        Span span = tracer.spanBuilder("sheets " + requestType)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("request.type", requestType)
+                .setAttribute("http.request.method", request.getRequestMethod())
+                .setAttribute("sheets.spreadsheet_id", spreadsheetId)
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            HttpContent content = request.getHttpContent();
+            if (content != null && span.isRecording()) {
+                span.setAttribute("http.request.body.size", content.getLength());
+            }
+            return tenantRegistry.forSpreadsheet(spreadsheetId).call(request::execute);
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Derives a readable name from the request class, e.g. Sheets$Spreadsheets$Values$Get -> Spreadsheets.Values.Get.
+     */
+    private static String requestType(AbstractGoogleClientRequest<?> request) {
+        String name = request.getClass().getName();
+        return name.substring(name.indexOf('$') + 1).replace('$', '.');
     }
 
     /**
      * Retrieves all sheet information from a specific spreadsheet ID.
+     * Served from the cache or the local snapshot when available; stale metadata is returned
+     * immediately and revalidated in the background.
      *
      * @param spreadsheetId ID of the spreadsheet to retrieve sheets from
      * @return List of Sheet objects containing sheet information
@@ -81,10 +198,40 @@ public class SheetService {
      * @throws IOException              If there is a network or I/O error
      */
     public List<Sheet> getAllSheets(String spreadsheetId) throws GeneralSecurityException, IOException {
+        SheetDataCache.SheetsEntry entry = sheetDataCache.getSheets(spreadsheetId);
+        String source = "cache";
+        if (entry == null) {
+            List<Sheet> snapshot = sheetSnapshotStore.readSheets(spreadsheetId);
+            if (snapshot != null) {
+                entry = sheetDataCache.putSheets(spreadsheetId, snapshot, true);
+                source = "snapshot";
+            }
+        }
+        Span.current().addEvent("SheetService.getAllSheets", Attributes.of(LOOKUP_SOURCE, entry == null ? "api" : source));
+        if (entry == null) {
+            return fetchAllSheets(spreadsheetId);
+        }
+        if (sheetDataCache.isStale(entry)) {
+            revalidate(spreadsheetId, () -> fetchAllSheets(spreadsheetId));
+        }
+        return entry.getSheets();
+    }
+
+    /**
+     * Retrieves all sheet information from the Sheets API and refreshes the cache and snapshot.
+     *
+     * @param spreadsheetId ID of the spreadsheet to retrieve sheets from
+     * @return List of Sheet objects containing sheet information
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    private List<Sheet> fetchAllSheets(String spreadsheetId) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
+            Sheets service = getSheetsService(spreadsheetId);
+            Spreadsheet spreadsheet = execute(spreadsheetId, service.spreadsheets().get(spreadsheetId));
             log.info("Retrieved all sheets for spreadsheet ID: {}", spreadsheetId);
+            sheetDataCache.putSheets(spreadsheetId, spreadsheet.getSheets(), false);
+            sheetSnapshotStore.saveSheetsAsync(spreadsheetId, spreadsheet.getSheets());
             return spreadsheet.getSheets();
         } catch (GoogleJsonResponseException e) {
             log.error("Error retrieving sheets: {}", e.getDetails());
@@ -106,13 +253,13 @@ public class SheetService {
      */
     public List<List<Object>> getSheetData(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
             String range = sheetName; // Specify sheet name to retrieve all data
-            ValueRange response = service.spreadsheets().values()
-                    .get(spreadsheetId, range)
-                    .execute();
-            log.info("Retrieved data for sheet: {} in spreadsheet ID: {}", sheetName, spreadsheetId);
-            return response.getValues();
+            List<List<Object>> values = readPlanner.read(spreadsheetId, range);
+            if (log.isInfoEnabled() && READ_LOG.tryAcquire()) {
+                log.atInfo().addKeyValue("spreadsheetId", spreadsheetId).addKeyValue("sheet", sheetName)
+                        .addKeyValue("suppressed", READ_LOG.drainSuppressed()).log("Retrieved sheet data");
+            }
+            return values;
         } catch (GoogleJsonResponseException e) {
             log.error("Error retrieving sheet data: {}", e.getDetails());
             throw e;
@@ -122,6 +269,183 @@ public class SheetService {
         }
     }
 
+    /**
+     * Retrieves data from a specific sheet, serving it from the local cache when possible.
+     * The cache is kept in step with mutations made through this service. On a cold start the
+     * local snapshot is served; stale data (expired, or from the snapshot) is returned immediately
+     * and revalidated in the background, and keeps being served while the Sheets API is unreachable.
+     *
+     * @param spreadsheetId ID of the spreadsheet to retrieve data from
+     * @param sheetName     Name of the sheet to retrieve data from
+     * @return Immutable list of rows, where each row is a list of cell values (never null)
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    public List<List<Object>> getCachedSheetData(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
+        return getCachedSheetEntry(spreadsheetId, sheetName).getRows();
+    }
+
+    /**
+     * Same as getCachedSheetData, but returns the whole cache entry (rows plus version and ETag).
+     *
+     * @param spreadsheetId ID of the spreadsheet to retrieve data from
+     * @param sheetName     Name of the sheet to retrieve data from
+     * @return The cache entry of the sheet
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    public SheetDataCache.Entry getCachedSheetEntry(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
+        SheetDataCache.Entry entry = sheetDataCache.get(spreadsheetId, sheetName);
+        String source = "cache";
+        if (entry == null) {
+            List<List<Object>> snapshot = sheetSnapshotStore.readSheetData(spreadsheetId, sheetName);
+            if (snapshot != null) {
+                entry = sheetDataCache.put(spreadsheetId, sheetName, snapshot, true);
+                source = "snapshot";
+            }
+        }
+        Span.current().addEvent("SheetService.getCachedSheetEntry",
+                Attributes.of(SHEET_NAME, sheetName, LOOKUP_SOURCE, entry == null ? "api" : source));
+        if (entry == null) {
+            return refreshSheetData(spreadsheetId, sheetName);
+        }
+        if (sheetDataCache.isStale(entry)) {
+            revalidate(spreadsheetId + "!" + sheetName, () -> refreshSheetData(spreadsheetId, sheetName));
+        }
+        return entry;
+    }
+
+    /**
+     * Returns a recent version of a sheet's data, for point-in-time reads.
+     * Only the last few versions of a cached sheet are kept (google.sheets.cache.versions-kept).
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param version       Version of a cache entry, as exposed in its ETag
+     * @return The cache entry of that version, or null if it is no longer kept
+     */
+    public SheetDataCache.Entry getCachedSheetVersion(String spreadsheetId, String sheetName, long version) {
+        return sheetDataCache.get(spreadsheetId, sheetName, version);
+    }
+
+    /**
+     * Retrieves a window of rows from a sheet, for clients that render large sheets lazily.
+     * The window is sliced from the cache when the sheet is cached; otherwise only the requested
+     * rows are read from the Sheets API (and not cached), so memory use does not grow with sheet size.
+     * totalRows and columnCount come from the sheet's grid size, so they stay stable while scrolling.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param offset        Index of the first row to return (0-based)
+     * @param limit         Maximum number of rows to return (1 to 1000)
+     * @return A map with offset, totalRows, columnCount and rows
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     * @throws IllegalArgumentException If the sheet is not found or the window is invalid
+     */
+    public Map<String, Object> getRowWindow(String spreadsheetId, String sheetName, int offset, int limit) throws GeneralSecurityException, IOException {
+        if (offset < 0 || limit <= 0 || limit > MAX_WINDOW_ROWS) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit between 1 and " + MAX_WINDOW_ROWS);
+        }
+        Sheet sheet = getAllSheets(spreadsheetId).stream()
+                .filter(s -> s.getProperties().getTitle().equals(sheetName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Sheet with name '" + sheetName + "' not found"));
+        GridProperties grid = sheet.getProperties().getGridProperties();
+        int totalRows = grid != null && grid.getRowCount() != null ? grid.getRowCount() : 0;
+        int columnCount = grid != null && grid.getColumnCount() != null ? grid.getColumnCount() : 0;
+
+        List<List<Object>> rows;
+        SheetDataCache.Entry entry = sheetDataCache.get(spreadsheetId, sheetName);
+        if (entry != null) {
+            List<List<Object>> all = entry.getRows();
+            totalRows = Math.max(totalRows, all.size());
+            rows = offset >= all.size() ? Collections.emptyList() : all.subList(offset, Math.min(all.size(), offset + limit));
+        } else {
+            String range = quoteSheetName(sheetName) + "!" + (offset + 1) + ":" + (offset + limit);
+            rows = offset >= totalRows ? null : readData(spreadsheetId, range);
+            if (rows == null) {
+                rows = Collections.emptyList();
+            }
+        }
+        for (List<Object> row : rows) {
+            columnCount = Math.max(columnCount, row.size());
+        }
+
+        Map<String, Object> window = new LinkedHashMap<>();
+        window.put("offset", offset);
+        window.put("totalRows", totalRows);
+        window.put("columnCount", columnCount);
+        window.put("rows", rows);
+        return window;
+    }
+
+    /**
+     * Quotes a sheet name for use in an A1 range ("My Sheet" -> 'My Sheet').
+     */
+    private String quoteSheetName(String sheetName) {
+        return "'" + sheetName.replace("'", "''") + "'";
+    }
+
+    /**
+     * Fetches a sheet's data from the Sheets API and refreshes the cache and snapshot.
+     */
+    private SheetDataCache.Entry refreshSheetData(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
+        SheetDataCache.Entry entry = sheetDataCache.put(spreadsheetId, sheetName, getSheetData(spreadsheetId, sheetName), false);
+        sheetSnapshotStore.saveSheetDataAsync(spreadsheetId, sheetName, entry.getRows());
+        return entry;
+    }
+
+    /**
+     * Runs a refresh in the background unless one is already running for the same key.
+     * Failures are logged and the stale value keeps being served.
+     */
+    private void revalidate(String key, Callable<?> refresh) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidationExecutor.execute(() -> {
+            try {
+                refresh.call();
+            } catch (Exception e) {
+                log.warn("Revalidation of '{}' failed, serving stale data: {}", key, e.getMessage());
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Initializes everything the first request would otherwise pay for: the HTTP transport and trust store,
+     * credentials and client of every tenant, and the sheet metadata (which also exercises JSON parsing).
+     * The metadata is always fetched from the Sheets API, never from a snapshot, so a successful warm-up proves
+     * the OAuth token fetch, TLS handshake and credentials actually work.
+     * Failures are logged and left to the request path; cached snapshots can still be served meanwhile.
+     *
+     * @return Number of tenants warmed up successfully
+     */
+    public int warmUp() {
+        int warmed = 0;
+        for (SheetTenant tenant : tenantRegistry.getTenants()) {
+            String spreadsheetId = tenant.getSpreadsheetId();
+            try {
+                getSheetsService(spreadsheetId);
+                fetchAllSheets(spreadsheetId);
+                warmed++;
+            } catch (GeneralSecurityException | IOException | RuntimeException e) {
+                log.warn("Warm-up failed for tenant '{}': {}", tenant.getId(), e.getMessage());
+            }
+        }
+        return warmed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidationExecutor.shutdownNow();
+        mutationExecutor.shutdown();
+        readPlanner.shutdown();
+    }
+
     /**
      * Adds a new sheet to a specific spreadsheet.
      *
@@ -132,12 +456,13 @@ public class SheetService {
      */
     public void addSheet(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
+            Sheets service = getSheetsService(spreadsheetId);
             AddSheetRequest addSheetRequest = new AddSheetRequest().setProperties(new SheetProperties().setTitle(sheetName));
             BatchUpdateSpreadsheetRequest request = new BatchUpdateSpreadsheetRequest()
                     .setRequests(Collections.singletonList(new Request().setAddSheet(addSheetRequest)));
-            service.spreadsheets().batchUpdate(spreadsheetId, request).execute();
+            execute(spreadsheetId, service.spreadsheets().batchUpdate(spreadsheetId, request));
             log.info("Added new sheet: {} to spreadsheet ID: {}", sheetName, spreadsheetId);
+            eventPublisher.publishEvent(SheetChangeEvent.sheet(SheetChangeEvent.Type.SHEET_ADDED, spreadsheetId, sheetName));
         } catch (GoogleJsonResponseException e) {
             log.error("Error adding sheet: {}", e.getDetails());
             throw e;
@@ -158,8 +483,8 @@ public class SheetService {
      */
     public void renameSheet(String spreadsheetId, String oldSheetName, String newSheetName) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
+            Sheets service = getSheetsService(spreadsheetId);
+            Spreadsheet spreadsheet = execute(spreadsheetId, service.spreadsheets().get(spreadsheetId));
 
             // Find the existing sheet by name
             Sheet sheetToRename = spreadsheet.getSheets().stream()
@@ -179,8 +504,9 @@ public class SheetService {
                     .setRequests(Collections.singletonList(new Request().setUpdateSheetProperties(updateSheetPropertiesRequest)));
 
             // Execute the BatchUpdate API call
-            service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest).execute();
+            execute(spreadsheetId, service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest));
             log.info("Renamed sheet from '{}' to '{}' in spreadsheet ID: {}", oldSheetName, newSheetName, spreadsheetId);
+            eventPublisher.publishEvent(SheetChangeEvent.renamed(spreadsheetId, oldSheetName, newSheetName));
         } catch (GoogleJsonResponseException e) {
             log.error("Error renaming sheet: {}", e.getDetails());
             throw e;
@@ -200,8 +526,8 @@ public class SheetService {
      */
     public void removeSheet(String spreadsheetId, String sheetName) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
+            Sheets service = getSheetsService(spreadsheetId);
+            Spreadsheet spreadsheet = execute(spreadsheetId, service.spreadsheets().get(spreadsheetId));
             Sheet sheetToDelete = spreadsheet.getSheets().stream()
                     .filter(sheet -> sheet.getProperties().getTitle().equals(sheetName))
                     .findFirst()
@@ -212,8 +538,9 @@ public class SheetService {
 
             BatchUpdateSpreadsheetRequest request = new BatchUpdateSpreadsheetRequest()
                     .setRequests(Collections.singletonList(new Request().setDeleteSheet(deleteRequest)));
-            service.spreadsheets().batchUpdate(spreadsheetId, request).execute();
+            execute(spreadsheetId, service.spreadsheets().batchUpdate(spreadsheetId, request));
             log.info("Deleted sheet: {} from spreadsheet ID: {}", sheetName, spreadsheetId);
+            eventPublisher.publishEvent(SheetChangeEvent.sheet(SheetChangeEvent.Type.SHEET_REMOVED, spreadsheetId, sheetName));
         } catch (GoogleJsonResponseException e) {
             log.error("Error deleting sheet: {}", e.getDetails());
             throw e;
@@ -249,6 +576,7 @@ public class SheetService {
 
     /**
      * Moves a sheet to a new index within the spreadsheet.
+     * Runs on the spreadsheet's mutation lane, so the index is validated against the order left by earlier mutations.
      *
      * @param spreadsheetId ID of the spreadsheet containing the sheet
      * @param sheetName     Name of the sheet to be moved
@@ -260,50 +588,40 @@ public class SheetService {
      */
     public void moveSheet(String spreadsheetId, String sheetName, int newIndex, int right) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
-            List<Sheet> sheets = spreadsheet.getSheets();
-            int totalSheets = sheets.size();
-
-            // Adjust totalSheets based on the direction
-            totalSheets = totalSheets + right;
-            newIndex = newIndex + right;
-
-            if (newIndex < 0 || newIndex >= totalSheets) { // newIndex must be >= 0 and < totalSheets
-                throw new IllegalArgumentException("newIndex must be between 0 and " + (totalSheets - 1));
-            }
-
-            // Find the sheet to move
-            Sheet sheetToMove = sheets.stream()
-                    .filter(sheet -> sheet.getProperties().getTitle().equals(sheetName))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Sheet with name '" + sheetName + "' not found"));
-
-            int currentIndex = sheetToMove.getProperties().getIndex();
-
-            log.debug("Move sheet current : {} -> new : {}", currentIndex, newIndex);
-            if (currentIndex == newIndex) {
-                log.info("Sheet '{}' is already at index {}", sheetName, newIndex);
-                return;
-            }
-
-            // Create an UpdateSheetPropertiesRequest to change the index
-            SheetProperties newProperties = new SheetProperties()
-                    .setSheetId(sheetToMove.getProperties().getSheetId())
-                    .setIndex(newIndex);
-
-            UpdateSheetPropertiesRequest updateRequest = new UpdateSheetPropertiesRequest()
-                    .setProperties(newProperties)
-                    .setFields("index");
-
-            // Create a BatchUpdateSpreadsheetRequest containing the update request
-            Request request = new Request().setUpdateSheetProperties(updateRequest);
-            BatchUpdateSpreadsheetRequest batchUpdateRequest = new BatchUpdateSpreadsheetRequest()
-                    .setRequests(Collections.singletonList(request));
-
-            // Execute the BatchUpdate API call
-            service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest).execute();
-            log.info("Moved sheet '{}' from index {} to {} in spreadsheet ID: {}", sheetName, currentIndex, newIndex, spreadsheetId);
+            mutationExecutor.submit(spreadsheetId, model -> {
+                // Adjust totalSheets and the index based on the direction
+                int totalSheets = model.getSheetCount() + right;
+                int targetIndex = newIndex + right;
+
+                if (targetIndex < 0 || targetIndex >= totalSheets) { // targetIndex must be >= 0 and < totalSheets
+                    throw new IllegalArgumentException("newIndex must be between 0 and " + (totalSheets - 1));
+                }
+
+                // Find the sheet to move
+                SheetMutationExecutor.SheetModel sheetToMove = model.sheet(sheetName);
+                int currentIndex = sheetToMove.getIndex();
+
+                log.debug("Move sheet current : {} -> new : {}", currentIndex, targetIndex);
+                if (currentIndex == targetIndex) {
+                    log.info("Sheet '{}' is already at index {}", sheetName, targetIndex);
+                    return SheetMutationExecutor.Plan.none();
+                }
+
+                // Create an UpdateSheetPropertiesRequest to change the index
+                SheetProperties newProperties = new SheetProperties()
+                        .setSheetId(sheetToMove.getSheetId())
+                        .setIndex(targetIndex);
+
+                UpdateSheetPropertiesRequest updateRequest = new UpdateSheetPropertiesRequest()
+                        .setProperties(newProperties)
+                        .setFields("index");
+
+                model.move(sheetToMove, targetIndex);
+                return SheetMutationExecutor.Plan.of(new Request().setUpdateSheetProperties(updateRequest), () -> {
+                    log.info("Moved sheet '{}' from index {} to {} in spreadsheet ID: {}", sheetName, currentIndex, targetIndex, spreadsheetId);
+                    eventPublisher.publishEvent(SheetChangeEvent.sheet(SheetChangeEvent.Type.SHEET_MOVED, spreadsheetId, sheetName));
+                });
+            });
         } catch (GoogleJsonResponseException e) {
             log.error("Error moving sheet: {}", e.getDetails());
             throw e;
@@ -328,8 +646,6 @@ public class SheetService {
      */
     public void addColumns(String spreadsheetId, String sheetName, int referenceIndex, int right) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            int sheetId = getSheetIdByName(service, spreadsheetId, sheetName);
             int numColumns = 1;
             Direction direction = right == 1 ? Direction.RIGHT : Direction.LEFT;
             int startIndex;
@@ -340,36 +656,38 @@ public class SheetService {
                 startIndex = referenceIndex; // Modification: When adding to the right, do not increment by 1
             }
 
-            // Get the current number of columns in the sheet
-            int columnCount = getSheetColumnCount(service, spreadsheetId, sheetName);
-            log.debug("Current column count for sheet '{}': {}", sheetName, columnCount);
-            log.debug("Attempting to add {} column(s) {} at startIndex {}", numColumns, direction, startIndex);
-
-            if (startIndex < 0 || startIndex > columnCount) {
-                throw new IllegalArgumentException("startIndex " + startIndex + " is out of bounds for sheet '" + sheetName + "' with " + columnCount + " columns.");
-            }
-
-            // Determine if the new columns should inherit properties from the previous columns
-            boolean inheritFromBefore = !(direction == Direction.LEFT && startIndex == 0);
-
-            InsertDimensionRequest insertRequest = new InsertDimensionRequest()
-                    .setRange(new DimensionRange()
-                            .setSheetId(sheetId)
-                            .setDimension("COLUMNS")
-                            .setStartIndex(startIndex)
-                            .setEndIndex(startIndex + numColumns))
-                    .setInheritFromBefore(inheritFromBefore);
-
-            log.debug("InsertDimensionRequest: startIndex={}, endIndex={}, inheritFromBefore={}", startIndex, startIndex + numColumns, inheritFromBefore);
-
-            Request request = new Request().setInsertDimension(insertRequest);
-            BatchUpdateSpreadsheetRequest batchUpdateRequest = new BatchUpdateSpreadsheetRequest()
-                    .setRequests(Collections.singletonList(request));
-
-            // Execute the API request
-            service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest).execute();
-            log.info("Added {} column(s) to sheet '{}' {} starting at index {} in spreadsheet ID: {}",
-                    numColumns, sheetName, direction, startIndex, spreadsheetId);
+            mutationExecutor.submit(spreadsheetId, model -> {
+                SheetMutationExecutor.SheetModel sheet = model.sheet(sheetName);
+
+                // Current number of columns, including columns added earlier in the same batch
+                int columnCount = sheet.getColumnCount();
+                log.debug("Current column count for sheet '{}': {}", sheetName, columnCount);
+                log.debug("Attempting to add {} column(s) {} at startIndex {}", numColumns, direction, startIndex);
+
+                if (startIndex < 0 || startIndex > columnCount) {
+                    throw new IllegalArgumentException("startIndex " + startIndex + " is out of bounds for sheet '" + sheetName + "' with " + columnCount + " columns.");
+                }
+
+                // Determine if the new columns should inherit properties from the previous columns
+                boolean inheritFromBefore = !(direction == Direction.LEFT && startIndex == 0);
+
+                InsertDimensionRequest insertRequest = new InsertDimensionRequest()
+                        .setRange(new DimensionRange()
+                                .setSheetId(sheet.getSheetId())
+                                .setDimension("COLUMNS")
+                                .setStartIndex(startIndex)
+                                .setEndIndex(startIndex + numColumns))
+                        .setInheritFromBefore(inheritFromBefore);
+
+                log.debug("InsertDimensionRequest: startIndex={}, endIndex={}, inheritFromBefore={}", startIndex, startIndex + numColumns, inheritFromBefore);
+
+                sheet.addColumns(numColumns);
+                return SheetMutationExecutor.Plan.of(new Request().setInsertDimension(insertRequest), () -> {
+                    log.info("Added {} column(s) to sheet '{}' {} starting at index {} in spreadsheet ID: {}",
+                            numColumns, sheetName, direction, startIndex, spreadsheetId);
+                    eventPublisher.publishEvent(SheetChangeEvent.dimension(SheetChangeEvent.Type.COLUMNS_INSERTED, spreadsheetId, sheetName, startIndex, numColumns));
+                });
+            });
         } catch (GoogleJsonResponseException e) {
             log.error("Google API Error adding columns: {}", e.getDetails());
             throw e;
@@ -379,25 +697,6 @@ public class SheetService {
         }
     }
 
-    /**
-     * Retrieves the number of columns in a specific sheet.
-     *
-     * @param service       Sheets service object
-     * @param spreadsheetId ID of the spreadsheet containing the sheet
-     * @param sheetName     Name of the sheet to retrieve the column count from
-     * @return Number of columns in the sheet
-     * @throws IOException If there is a network or I/O error
-     */
-    private int getSheetColumnCount(Sheets service, String spreadsheetId, String sheetName) throws IOException {
-        Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
-        Sheet sheet = spreadsheet.getSheets().stream()
-                .filter(s -> s.getProperties().getTitle().equals(sheetName))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Sheet with name '" + sheetName + "' not found"));
-        GridProperties gridProperties = sheet.getProperties().getGridProperties();
-        return gridProperties != null ? gridProperties.getColumnCount() : 100; // Default to 100 columns if not specified
-    }
-
     /**
      * Removes columns from a specific sheet in a spreadsheet.
      *
@@ -409,24 +708,28 @@ public class SheetService {
      */
     public void removeColumns(String spreadsheetId, String sheetName, int startIndex) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            int sheetId = getSheetIdByName(service, spreadsheetId, sheetName);
-
             int numColumns = 1;
 
-            DeleteDimensionRequest deleteRequest = new DeleteDimensionRequest()
-                    .setRange(new DimensionRange()
-                            .setSheetId(sheetId)
-                            .setDimension("COLUMNS")
-                            .setStartIndex(startIndex)
-                            .setEndIndex(startIndex + numColumns));
-
-            Request request = new Request().setDeleteDimension(deleteRequest);
-            BatchUpdateSpreadsheetRequest batchUpdateRequest = new BatchUpdateSpreadsheetRequest()
-                    .setRequests(Collections.singletonList(request));
-
-            service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest).execute();
-            log.info("Deleted {} columns from sheet '{}' starting at index {} in spreadsheet ID: {}", numColumns, sheetName, startIndex, spreadsheetId);
+            mutationExecutor.submit(spreadsheetId, model -> {
+                SheetMutationExecutor.SheetModel sheet = model.sheet(sheetName);
+
+                if (startIndex < 0 || startIndex + numColumns > sheet.getColumnCount()) {
+                    throw new IllegalArgumentException("Column range " + startIndex + " to " + (startIndex + numColumns) + " is out of bounds for sheet '" + sheetName + "' with " + sheet.getColumnCount() + " columns.");
+                }
+
+                DeleteDimensionRequest deleteRequest = new DeleteDimensionRequest()
+                        .setRange(new DimensionRange()
+                                .setSheetId(sheet.getSheetId())
+                                .setDimension("COLUMNS")
+                                .setStartIndex(startIndex)
+                                .setEndIndex(startIndex + numColumns));
+
+                sheet.addColumns(-numColumns);
+                return SheetMutationExecutor.Plan.of(new Request().setDeleteDimension(deleteRequest), () -> {
+                    log.info("Deleted {} columns from sheet '{}' starting at index {} in spreadsheet ID: {}", numColumns, sheetName, startIndex, spreadsheetId);
+                    eventPublisher.publishEvent(SheetChangeEvent.dimension(SheetChangeEvent.Type.COLUMNS_DELETED, spreadsheetId, sheetName, startIndex, numColumns));
+                });
+            });
         } catch (GoogleJsonResponseException e) {
             log.error("Error deleting columns: {}", e.getDetails());
             throw e;
@@ -439,17 +742,15 @@ public class SheetService {
     /**
      * Adds rows to a specific sheet in a spreadsheet.
      *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
      * @param sheetName  Name of the sheet to add rows to
      * @param startIndex Index at which to add the new rows (0-based)
      * @param below      Direction to add rows (0 = above, 1 = below)
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
      */
-    public void addRows(String sheetName, int startIndex, int below) throws GeneralSecurityException, IOException {
+    public void addRows(String spreadsheetId, String sheetName, int startIndex, int below) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            String spreadsheetId = profileComponent.getSheetId();
-            int sheetId = getSheetIdByName(service, spreadsheetId, sheetName);
             int numRows = 1;
             Direction direction = below == 1 ? Direction.BOTTOM : Direction.TOP;
             int insertIndex;
@@ -460,36 +761,38 @@ public class SheetService {
                 insertIndex = startIndex + 1;
             }
 
-            // Get the current number of rows in the sheet
-            int rowCount = getSheetRowCount(service, spreadsheetId, sheetName);
-            log.debug("Current row count for sheet '{}': {}", sheetName, rowCount);
-            log.debug("Attempting to add {} row(s) {} at insertIndex {}", numRows, direction, insertIndex);
-
-            if (insertIndex < 0 || insertIndex > rowCount) {
-                throw new IllegalArgumentException("insertIndex " + insertIndex + " is out of bounds for sheet '" + sheetName + "' with " + rowCount + " rows.");
-            }
-
-            // Determine if the new rows should inherit properties from the previous rows
-            boolean inheritFromBefore = !(direction == Direction.TOP && insertIndex == 0);
-
-            InsertDimensionRequest insertRequest = new InsertDimensionRequest()
-                    .setRange(new DimensionRange()
-                            .setSheetId(sheetId)
-                            .setDimension("ROWS")
-                            .setStartIndex(insertIndex)
-                            .setEndIndex(insertIndex + numRows))
-                    .setInheritFromBefore(inheritFromBefore);
-
-            log.debug("InsertDimensionRequest: startIndex={}, endIndex={}, inheritFromBefore={}", insertIndex, insertIndex + numRows, inheritFromBefore);
-
-            Request request = new Request().setInsertDimension(insertRequest);
-            BatchUpdateSpreadsheetRequest batchUpdateRequest = new BatchUpdateSpreadsheetRequest()
-                    .setRequests(Collections.singletonList(request));
-
-            // Execute the API request
-            service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest).execute();
-            log.info("Added {} row(s) to sheet '{}' {} starting at index {} in spreadsheet ID: {}",
-                    numRows, sheetName, direction, insertIndex, spreadsheetId);
+            mutationExecutor.submit(spreadsheetId, model -> {
+                SheetMutationExecutor.SheetModel sheet = model.sheet(sheetName);
+
+                // Current number of rows, including rows added earlier in the same batch
+                int rowCount = sheet.getRowCount();
+                log.debug("Current row count for sheet '{}': {}", sheetName, rowCount);
+                log.debug("Attempting to add {} row(s) {} at insertIndex {}", numRows, direction, insertIndex);
+
+                if (insertIndex < 0 || insertIndex > rowCount) {
+                    throw new IllegalArgumentException("insertIndex " + insertIndex + " is out of bounds for sheet '" + sheetName + "' with " + rowCount + " rows.");
+                }
+
+                // Determine if the new rows should inherit properties from the previous rows
+                boolean inheritFromBefore = !(direction == Direction.TOP && insertIndex == 0);
+
+                InsertDimensionRequest insertRequest = new InsertDimensionRequest()
+                        .setRange(new DimensionRange()
+                                .setSheetId(sheet.getSheetId())
+                                .setDimension("ROWS")
+                                .setStartIndex(insertIndex)
+                                .setEndIndex(insertIndex + numRows))
+                        .setInheritFromBefore(inheritFromBefore);
+
+                log.debug("InsertDimensionRequest: startIndex={}, endIndex={}, inheritFromBefore={}", insertIndex, insertIndex + numRows, inheritFromBefore);
+
+                sheet.addRows(numRows);
+                return SheetMutationExecutor.Plan.of(new Request().setInsertDimension(insertRequest), () -> {
+                    log.info("Added {} row(s) to sheet '{}' {} starting at index {} in spreadsheet ID: {}",
+                            numRows, sheetName, direction, insertIndex, spreadsheetId);
+                    eventPublisher.publishEvent(SheetChangeEvent.dimension(SheetChangeEvent.Type.ROWS_INSERTED, spreadsheetId, sheetName, insertIndex, numRows));
+                });
+            });
         } catch (GoogleJsonResponseException e) {
             log.error("Google API Error adding rows: {}", e.getDetails());
             throw e;
@@ -502,43 +805,42 @@ public class SheetService {
     /**
      * Deletes rows from a specific sheet in a spreadsheet.
      *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
      * @param sheetName Name of the sheet to delete rows from
      * @param startIndex Starting index of the rows to delete (0-based)
      * @param numRows    Number of rows to delete
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
      */
-    public void deleteRows(String sheetName, int startIndex, int numRows) throws GeneralSecurityException, IOException {
+    public void deleteRows(String spreadsheetId, String sheetName, int startIndex, int numRows) throws GeneralSecurityException, IOException {
         try {
-            Sheets service = getSheetsService();
-            String spreadsheetId = profileComponent.getSheetId();
-            int sheetId = getSheetIdByName(service, spreadsheetId, sheetName);
-
-            // Get the current number of rows in the sheet
-            int rowCount = getSheetRowCount(service, spreadsheetId, sheetName);
-            log.debug("Current row count for sheet '{}': {}", sheetName, rowCount);
-
-            // Verify that the row range to delete is valid
-            if (startIndex < 0 || (startIndex + numRows) > rowCount) {
-                throw new IllegalArgumentException("Row range " + startIndex + " to " + (startIndex + numRows) + " is out of bounds for sheet '" + sheetName + "' with " + rowCount + " rows.");
-            }
-
-            // Create a DeleteDimensionRequest to remove the rows
-            DeleteDimensionRequest deleteRequest = new DeleteDimensionRequest()
-                    .setRange(new DimensionRange()
-                            .setSheetId(sheetId)
-                            .setDimension("ROWS")
-                            .setStartIndex(startIndex) // inclusive
-                            .setEndIndex(startIndex + numRows)); // exclusive
-
-            Request request = new Request().setDeleteDimension(deleteRequest);
-            BatchUpdateSpreadsheetRequest batchUpdateRequest = new BatchUpdateSpreadsheetRequest()
-                    .setRequests(Collections.singletonList(request));
-
-            // Execute the API request
-            service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest).execute();
-            log.info("Deleted {} row(s) from sheet '{}' starting at index {} in spreadsheet ID: {}",
-                    numRows, sheetName, startIndex, spreadsheetId);
+            mutationExecutor.submit(spreadsheetId, model -> {
+                SheetMutationExecutor.SheetModel sheet = model.sheet(sheetName);
+
+                // Current number of rows, including rows added or deleted earlier in the same batch
+                int rowCount = sheet.getRowCount();
+                log.debug("Current row count for sheet '{}': {}", sheetName, rowCount);
+
+                // Verify that the row range to delete is valid
+                if (startIndex < 0 || (startIndex + numRows) > rowCount) {
+                    throw new IllegalArgumentException("Row range " + startIndex + " to " + (startIndex + numRows) + " is out of bounds for sheet '" + sheetName + "' with " + rowCount + " rows.");
+                }
+
+                // Create a DeleteDimensionRequest to remove the rows
+                DeleteDimensionRequest deleteRequest = new DeleteDimensionRequest()
+                        .setRange(new DimensionRange()
+                                .setSheetId(sheet.getSheetId())
+                                .setDimension("ROWS")
+                                .setStartIndex(startIndex) // inclusive
+                                .setEndIndex(startIndex + numRows)); // exclusive
+
+                sheet.addRows(-numRows);
+                return SheetMutationExecutor.Plan.of(new Request().setDeleteDimension(deleteRequest), () -> {
+                    log.info("Deleted {} row(s) from sheet '{}' starting at index {} in spreadsheet ID: {}",
+                            numRows, sheetName, startIndex, spreadsheetId);
+                    eventPublisher.publishEvent(SheetChangeEvent.dimension(SheetChangeEvent.Type.ROWS_DELETED, spreadsheetId, sheetName, startIndex, numRows));
+                });
+            });
         } catch (GoogleJsonResponseException e) {
             log.error("Google API Error deleting rows: {}", e.getDetails());
             throw e;
@@ -549,36 +851,23 @@ public class SheetService {
     }
 
     /**
-     * Retrieves the current number of rows in a specific sheet.
+     * Applies the merged requests of a mutation lane in a single batchUpdate call.
      *
-     * @param service       Sheets service object
-     * @param spreadsheetId ID of the spreadsheet containing the sheet
-     * @param sheetName     Name of the sheet to retrieve the row count from
-     * @return Number of rows in the sheet
+     * @param spreadsheetId ID of the spreadsheet to update
+     * @param requests      Requests of all mutations in the batch, in order
+     * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
-     * @throws IllegalArgumentException If the sheet is not found
      */
-    private int getSheetRowCount(@NotNull Sheets service, String spreadsheetId, String sheetName) throws IOException {
-        Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId)
-                .setIncludeGridData(false) // Exclude GridData for faster response
-                .execute();
-        Sheet sheet = spreadsheet.getSheets().stream()
-                .filter(s -> s.getProperties().getTitle().equals(sheetName))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Sheet with name '" + sheetName + "' not found"));
-
-        GridProperties gridProperties = sheet.getProperties().getGridProperties();
-        if (gridProperties != null && gridProperties.getRowCount() != null) {
-            return gridProperties.getRowCount();
-        } else {
-            // Return default row count if not specified (e.g., 1000)
-            return 1000;
-        }
+    private void applyMutations(String spreadsheetId, List<Request> requests) throws GeneralSecurityException, IOException {
+        Sheets service = getSheetsService(spreadsheetId);
+        BatchUpdateSpreadsheetRequest batchUpdateRequest = new BatchUpdateSpreadsheetRequest().setRequests(requests);
+        execute(spreadsheetId, service.spreadsheets().batchUpdate(spreadsheetId, batchUpdateRequest));
     }
 
     /**
      * Updates a specific cell in a sheet with a new value.
      *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
      * @param sheetName Name of the sheet containing the cell
      * @param rowIndex  Row index of the cell (0-based)
      * @param colIndex  Column index of the cell (0-based)
@@ -586,12 +875,8 @@ public class SheetService {
      * @throws GeneralSecurityException If there is a security-related error
      * @throws IOException              If there is a network or I/O error
      */
-    public void updateCell(String sheetName, int rowIndex, int colIndex, String newValue) throws GeneralSecurityException, IOException {
-
-        log.debug("=====>{} {} {} {}", sheetName, rowIndex, colIndex, newValue);
-
-        Sheets service = getSheetsService();
-        String spreadsheetId = profileComponent.getSheetId(); // Retrieve spreadsheet ID from ProfileComponent
+    public void updateCell(String spreadsheetId, String sheetName, int rowIndex, int colIndex, String newValue) throws GeneralSecurityException, IOException {
+        Sheets service = getSheetsService(spreadsheetId);
 
         // Calculate the A1 notation for the cell
         String cellAddress = convertToA1Notation(rowIndex, colIndex);
@@ -603,11 +888,15 @@ public class SheetService {
 
         try {
             // Update the cell value
-            service.spreadsheets().values()
+            execute(spreadsheetId, service.spreadsheets().values()
                     .update(spreadsheetId, range, body)
-                    .setValueInputOption(VALUE_INPUT_OPTION)
-                    .execute();
-            log.info("Updated cell {} in sheet '{}' with value '{}'", cellAddress, sheetName, newValue);
+                    .setValueInputOption(VALUE_INPUT_OPTION));
+            if (log.isInfoEnabled() && UPDATE_LOG.tryAcquire()) {
+                // Cell values are user data; only the address is logged
+                log.atInfo().addKeyValue("spreadsheetId", spreadsheetId).addKeyValue("sheet", sheetName).addKeyValue("cell", cellAddress)
+                        .addKeyValue("suppressed", UPDATE_LOG.drainSuppressed()).log("Updated cell");
+            }
+            eventPublisher.publishEvent(SheetChangeEvent.cell(spreadsheetId, sheetName, rowIndex, colIndex, newValue));
         } catch (GoogleJsonResponseException e) {
             log.error("Google API Error updating cell: {}", e.getDetails());
             throw e;
@@ -617,6 +906,212 @@ public class SheetService {
         }
     }
 
+    /**
+     * Updates several cells of a sheet with a single values.batchUpdate call.
+     * Edits of the same cell are merged (the last one wins) and horizontally adjacent cells of a row
+     * are sent as one range. Edits with invalid indices fail individually without affecting the others.
+     * The Sheets API applies nothing of a batch it rejects with a client error, so the cells are then
+     * written one at a time and each gets its own result.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet containing the cells
+     * @param edits         Cell edits in the order they were made
+     * @return One result per cell with rowIndex, colIndex, status ("success" or "error") and message
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error on the batch call (no cell was updated)
+     */
+    public List<Map<String, Object>> updateCells(String spreadsheetId, String sheetName, List<CellUpdateBatch.CellEdit> edits) throws GeneralSecurityException, IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        NavigableMap<Long, CellUpdateBatch.CellEdit> cells = new TreeMap<>(); // Ordered by row, then column
+        for (CellUpdateBatch.CellEdit edit : edits) {
+            if (edit.getRowIndex() < 0 || edit.getColIndex() < 0) {
+                results.add(cellResult(edit, "error", "Row and column indices must not be negative."));
+                continue;
+            }
+            cells.put(((long) edit.getRowIndex() << 32) | edit.getColIndex(), edit);
+        }
+        if (cells.isEmpty()) {
+            return results;
+        }
+
+        // Group horizontally adjacent cells of the same row into one range
+        List<ValueRange> data = new ArrayList<>();
+        List<CellUpdateBatch.CellEdit> run = new ArrayList<>();
+        for (CellUpdateBatch.CellEdit edit : cells.values()) {
+            if (!run.isEmpty()) {
+                CellUpdateBatch.CellEdit previous = run.get(run.size() - 1);
+                if (previous.getRowIndex() != edit.getRowIndex() || previous.getColIndex() + 1 != edit.getColIndex()) {
+                    data.add(toValueRange(sheetName, run));
+                    run = new ArrayList<>();
+                }
+            }
+            run.add(edit);
+        }
+        data.add(toValueRange(sheetName, run));
+
+        Sheets service = getSheetsService(spreadsheetId);
+        try {
+            BatchUpdateValuesRequest body = new BatchUpdateValuesRequest()
+                    .setValueInputOption(VALUE_INPUT_OPTION)
+                    .setData(data);
+            execute(spreadsheetId, service.spreadsheets().values().batchUpdate(spreadsheetId, body));
+            if (log.isInfoEnabled() && UPDATE_LOG.tryAcquire()) {
+                log.atInfo().addKeyValue("spreadsheetId", spreadsheetId).addKeyValue("sheet", sheetName)
+                        .addKeyValue("cells", cells.size()).addKeyValue("ranges", data.size())
+                        .addKeyValue("suppressed", UPDATE_LOG.drainSuppressed()).log("Updated cells");
+            }
+        } catch (GoogleJsonResponseException e) {
+            if (!SheetMutationExecutor.isRejectedRequest(e)) {
+                log.error("Google API Error updating cells: {}", e.getDetails());
+                throw e;
+            }
+            // One bad value or range must not fail the other edits; retry each cell on its own
+            log.warn("Batch of {} cell edits rejected for spreadsheet ID: {} ({}); retrying individually", cells.size(), spreadsheetId, e.getStatusCode());
+            for (CellUpdateBatch.CellEdit edit : cells.values()) {
+                results.add(updateSingleCell(service, spreadsheetId, sheetName, edit));
+            }
+            return results;
+        } catch (Exception e) {
+            log.error("Unexpected error updating cells: {}", e.getMessage());
+            throw e;
+        }
+
+        for (CellUpdateBatch.CellEdit edit : cells.values()) {
+            eventPublisher.publishEvent(SheetChangeEvent.cell(spreadsheetId, sheetName, edit.getRowIndex(), edit.getColIndex(), edit.getNewValue()));
+            results.add(cellResult(edit, "success", null));
+        }
+        return results;
+    }
+
+    /**
+     * Writes one cell of a rejected batch and reports its outcome instead of throwing,
+     * so the remaining cells of the batch are still attempted.
+     *
+     * @return The result of the cell, as returned by updateCells
+     */
+    private Map<String, Object> updateSingleCell(Sheets service, String spreadsheetId, String sheetName, CellUpdateBatch.CellEdit edit) {
+        String range = quoteSheetName(sheetName) + "!" + convertToA1Notation(edit.getRowIndex(), edit.getColIndex());
+        ValueRange body = new ValueRange().setValues(Collections.singletonList(Collections.singletonList(edit.getNewValue())));
+        try {
+            execute(spreadsheetId, service.spreadsheets().values()
+                    .update(spreadsheetId, range, body)
+                    .setValueInputOption(VALUE_INPUT_OPTION));
+        } catch (GoogleJsonResponseException e) {
+            if (SheetMutationExecutor.isRejectedRequest(e)) {
+                return cellResult(edit, "error", e.getDetails() != null ? e.getDetails().getMessage() : e.getStatusMessage());
+            }
+            log.error("Google API Error updating cell: {}", e.getDetails());
+            return cellResult(edit, "error", "An internal server error occurred.");
+        } catch (IOException | RuntimeException e) {
+            log.error("Unexpected error updating cell: {}", e.getMessage());
+            return cellResult(edit, "error", "An internal server error occurred.");
+        }
+        eventPublisher.publishEvent(SheetChangeEvent.cell(spreadsheetId, sheetName, edit.getRowIndex(), edit.getColIndex(), edit.getNewValue()));
+        return cellResult(edit, "success", null);
+    }
+
+    /**
+     * Writes a block of rows starting at a given row, overwriting existing values (bulk import).
+     * No change event is published per block; callers publish one invalidation when they are done.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param startRow      Row index of the first row to write (0-based)
+     * @param rows          Rows to write
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    public void writeRows(String spreadsheetId, String sheetName, int startRow, List<List<Object>> rows) throws GeneralSecurityException, IOException {
+        String range = quoteSheetName(sheetName) + "!A" + (startRow + 1);
+        ValueRange body = new ValueRange().setValues(rows);
+        execute(spreadsheetId, getSheetsService(spreadsheetId).spreadsheets().values()
+                .update(spreadsheetId, range, body)
+                .setValueInputOption(VALUE_INPUT_OPTION));
+        log.debug("Wrote {} row(s) to sheet '{}' starting at row {}", rows.size(), sheetName, startRow);
+    }
+
+    /**
+     * Grows a sheet's grid so that it has at least the given number of rows and columns.
+     * Runs on the spreadsheet's mutation lane like the other structural changes.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param minRows       Required number of rows
+     * @param minColumns    Required number of columns
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    public void ensureGridSize(String spreadsheetId, String sheetName, int minRows, int minColumns) throws GeneralSecurityException, IOException {
+        mutationExecutor.submit(spreadsheetId, model -> {
+            SheetMutationExecutor.SheetModel sheet = model.sheet(sheetName);
+            int rowCount = sheet.getRowCount();
+            int columnCount = sheet.getColumnCount();
+            int addedRows = Math.max(0, minRows - rowCount);
+            int addedColumns = Math.max(0, minColumns - columnCount);
+            List<Request> requests = new ArrayList<>(2);
+            if (addedRows > 0) {
+                requests.add(new Request().setAppendDimension(new AppendDimensionRequest()
+                        .setSheetId(sheet.getSheetId())
+                        .setDimension("ROWS")
+                        .setLength(addedRows)));
+                sheet.addRows(addedRows);
+            }
+            if (addedColumns > 0) {
+                requests.add(new Request().setAppendDimension(new AppendDimensionRequest()
+                        .setSheetId(sheet.getSheetId())
+                        .setDimension("COLUMNS")
+                        .setLength(addedColumns)));
+                sheet.addColumns(addedColumns);
+            }
+            if (requests.isEmpty()) {
+                return SheetMutationExecutor.Plan.none();
+            }
+            return SheetMutationExecutor.Plan.of(requests, () -> {
+                log.info("Appended {} row(s) and {} column(s) to sheet '{}' in spreadsheet ID: {}", addedRows, addedColumns, sheetName, spreadsheetId);
+                if (addedRows > 0) {
+                    eventPublisher.publishEvent(SheetChangeEvent.dimension(SheetChangeEvent.Type.ROWS_INSERTED, spreadsheetId, sheetName, rowCount, addedRows));
+                }
+                if (addedColumns > 0) {
+                    eventPublisher.publishEvent(SheetChangeEvent.dimension(SheetChangeEvent.Type.COLUMNS_INSERTED, spreadsheetId, sheetName, columnCount, addedColumns));
+                }
+            });
+        });
+    }
+
+    /**
+     * Tells caches and peers that a sheet's cell data changed outside of the fine-grained mutations (e.g. a bulk import).
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     */
+    public void invalidateSheetData(String spreadsheetId, String sheetName) {
+        eventPublisher.publishEvent(SheetChangeEvent.dataInvalidated(spreadsheetId, sheetName));
+    }
+
+    /**
+     * Builds a single-row ValueRange for a run of adjacent cell edits.
+     */
+    private ValueRange toValueRange(String sheetName, List<CellUpdateBatch.CellEdit> run) {
+        CellUpdateBatch.CellEdit first = run.get(0);
+        CellUpdateBatch.CellEdit last = run.get(run.size() - 1);
+        List<Object> values = new ArrayList<>(run.size());
+        run.forEach(edit -> values.add(edit.getNewValue()));
+        String range = quoteSheetName(sheetName) + "!" + convertToA1Notation(first.getRowIndex(), first.getColIndex())
+                + ":" + convertToA1Notation(last.getRowIndex(), last.getColIndex());
+        return new ValueRange().setRange(range).setValues(Collections.singletonList(values));
+    }
+
+    private Map<String, Object> cellResult(CellUpdateBatch.CellEdit edit, String status, String message) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rowIndex", edit.getRowIndex());
+        result.put("colIndex", edit.getColIndex());
+        result.put("status", status);
+        if (message != null) {
+            result.put("message", message);
+        }
+        return result;
+    }
+
     /**
      * Converts row and column indices to A1 notation for cell addresses.
      *
@@ -652,24 +1147,41 @@ public class SheetService {
     /**
      * Reads data from a specified range in the spreadsheet.
      *
-     * @param range Range in A1 notation to read data from
+     * @param spreadsheetId ID of the spreadsheet to read from
+     * @param range         Range in A1 notation to read data from
      * @return List of rows, where each row is a list of cell values
      * @throws IOException              If there is a network or I/O error
      * @throws GeneralSecurityException If there is a security-related error
      */
-    public List<List<Object>> readData(String range) throws IOException, GeneralSecurityException {
+    public List<List<Object>> readData(String spreadsheetId, String range) throws IOException, GeneralSecurityException {
         try {
-            ValueRange response = getSheetsService().spreadsheets().values()
-                    .get(profileComponent.getSheetId(), range)
-                    .execute();
-            log.info("Read data from range: {}", range);
-            return response.getValues();
+            List<List<Object>> values = readPlanner.read(spreadsheetId, range);
+            if (log.isInfoEnabled() && READ_LOG.tryAcquire()) {
+                log.atInfo().addKeyValue("spreadsheetId", spreadsheetId).addKeyValue("range", range)
+                        .addKeyValue("suppressed", READ_LOG.drainSuppressed()).log("Read range");
+            }
+            return values;
         } catch (Exception e) {
             log.error("Error reading data: {}", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Reads several ranges with one values().batchGet call; used by the read planner.
+     *
+     * @param spreadsheetId ID of the spreadsheet to read from
+     * @param ranges        Ranges in A1 notation
+     * @return One ValueRange per range, in the same order
+     * @throws GeneralSecurityException If there is a security-related error
+     * @throws IOException              If there is a network or I/O error
+     */
+    private List<ValueRange> batchGet(String spreadsheetId, List<String> ranges) throws GeneralSecurityException, IOException {
+        BatchGetValuesResponse response = execute(spreadsheetId, getSheetsService(spreadsheetId).spreadsheets().values()
+                .batchGet(spreadsheetId).setRanges(ranges));
+        return response.getValueRanges();
+    }
+
     /**
      * Enumeration for specifying directions when adding rows or columns.
      */
@@ -0,0 +1,437 @@
+package com.psc.sw.website.component;
+
+import com.google.api.services.sheets.v4.model.GridProperties;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import com.psc.sw.website.event.SheetChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent local snapshots of sheet metadata and cell data.
+ * Snapshots are written asynchronously after every upstream refresh in a compact binary format
+ * and read back on the first cache miss, so a restarted instance can serve reads before the
+ * Sheets API has been called (and keep serving them while the API is unreachable). A read maps the file and
+ * decodes all of it onto the heap (the cache holds the decoded rows), so a snapshot costs about as much memory
+ * as the sheet fetched from the API. Files that fail to decode (truncated, corrupt or of another format version)
+ * are deleted and treated as missing.
+ * A snapshot is deleted as soon as a change (local or from a peer) makes it outdated, so once the cache drops
+ * an entry the next read goes to the Sheets API instead of loading pre-mutation data from disk.
+ *
+ * File layout (all integers big-endian, lengths as unsigned varints, strings UTF-8):
+ * <pre>
+ * int magic "SHS1" | byte version | byte kind (1 = data, 2 = metadata) | long savedAtMillis | varint count | records...
+ * data record:     varint cellCount, then per cell: byte tag (0 = null, 1 = string) [varint length, bytes]
+ * metadata record: int sheetId, int index, int rowCount, int columnCount, varint length, title bytes
+ * </pre>
+ */
+@Slf4j
+@Component
+public class SheetSnapshotStore {
+
+    private static final int MAGIC = 0x53485331; // "SHS1"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 14;
+    private static final int METADATA_RECORD_MIN_SIZE = 17; // Four ints and an empty title
+    private static final byte KIND_DATA = 1;
+    private static final byte KIND_METADATA = 2;
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sheet-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Latest payload per file; a queued write always picks up the newest version (older ones are coalesced away)
+    private final ConcurrentMap<Path, byte[]> pendingWrites = new ConcurrentHashMap<>();
+
+    public SheetSnapshotStore(@Value("${google.sheets.snapshot.enabled:true}") boolean enabled,
+                              @Value("${google.sheets.snapshot.dir:${java.io.tmpdir}/sheet-snapshots}") String directory) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Reads the snapshot of a sheet's cell data.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @return Rows of the sheet, or null if there is no usable snapshot
+     */
+    public List<List<Object>> readSheetData(String spreadsheetId, String sheetName) {
+        return read(dataFile(spreadsheetId, sheetName), KIND_DATA, buffer -> {
+            int rowCount = readCount(buffer, 1); // Every row takes at least its cell count
+            List<List<Object>> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                int cellCount = readCount(buffer, 1); // Every cell takes at least its tag
+                List<Object> row = new ArrayList<>(cellCount);
+                for (int c = 0; c < cellCount; c++) {
+                    byte tag = buffer.get();
+                    if (tag != TAG_NULL && tag != TAG_STRING) {
+                        throw new IllegalStateException("Unknown cell tag " + tag);
+                    }
+                    row.add(tag == TAG_NULL ? null : readString(buffer));
+                }
+                rows.add(row);
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Schedules a snapshot write of a sheet's cell data.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param rows          Rows of the sheet (null is stored as an empty sheet)
+     */
+    public void saveSheetDataAsync(String spreadsheetId, String sheetName, List<List<Object>> rows) {
+        if (!enabled) {
+            return;
+        }
+        List<List<Object>> data = rows == null ? Collections.emptyList() : rows;
+        writeAsync(dataFile(spreadsheetId, sheetName), KIND_DATA, data.size(), out -> {
+            for (List<Object> row : data) {
+                out.writeVarint(row.size());
+                for (Object value : row) {
+                    if (value == null) {
+                        out.write(TAG_NULL);
+                    } else {
+                        out.write(TAG_STRING);
+                        out.writeString(value.toString());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the snapshot of a spreadsheet's sheet metadata.
+     *
+     * @param spreadsheetId ID of the spreadsheet
+     * @return Sheets with id, title, index and grid size, or null if there is no usable snapshot
+     */
+    public List<Sheet> readSheets(String spreadsheetId) {
+        return read(metadataFile(spreadsheetId), KIND_METADATA, buffer -> {
+            int count = readCount(buffer, METADATA_RECORD_MIN_SIZE);
+            List<Sheet> sheets = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int sheetId = buffer.getInt();
+                int index = buffer.getInt();
+                int rowCount = buffer.getInt();
+                int columnCount = buffer.getInt();
+                String title = readString(buffer);
+                sheets.add(new Sheet().setProperties(new SheetProperties()
+                        .setSheetId(sheetId)
+                        .setIndex(index)
+                        .setTitle(title)
+                        .setGridProperties(new GridProperties().setRowCount(rowCount).setColumnCount(columnCount))));
+            }
+            return sheets;
+        });
+    }
+
+    /**
+     * Schedules a snapshot write of a spreadsheet's sheet metadata.
+     *
+     * @param spreadsheetId ID of the spreadsheet
+     * @param sheets        Sheets as returned by the Sheets API
+     */
+    public void saveSheetsAsync(String spreadsheetId, List<Sheet> sheets) {
+        if (!enabled || sheets == null) {
+            return;
+        }
+        writeAsync(metadataFile(spreadsheetId), KIND_METADATA, sheets.size(), out -> {
+            for (Sheet sheet : sheets) {
+                SheetProperties properties = sheet.getProperties();
+                GridProperties grid = properties.getGridProperties();
+                out.writeInt(properties.getSheetId() == null ? 0 : properties.getSheetId());
+                out.writeInt(properties.getIndex() == null ? 0 : properties.getIndex());
+                out.writeInt(grid != null && grid.getRowCount() != null ? grid.getRowCount() : 0);
+                out.writeInt(grid != null && grid.getColumnCount() != null ? grid.getColumnCount() : 0);
+                out.writeString(properties.getTitle());
+            }
+        });
+    }
+
+    /**
+     * Removes the data snapshot of a sheet (e.g. after the sheet was deleted).
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     */
+    public void deleteSheetData(String spreadsheetId, String sheetName) {
+        if (!enabled) {
+            return;
+        }
+        delete(dataFile(spreadsheetId, sheetName));
+    }
+
+    private void delete(Path file) {
+        pendingWrites.remove(file);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete snapshot {}: {}", file, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Removes the snapshot of a spreadsheet's sheet metadata.
+     *
+     * @param spreadsheetId ID of the spreadsheet
+     */
+    public void deleteSheets(String spreadsheetId) {
+        if (!enabled) {
+            return;
+        }
+        delete(metadataFile(spreadsheetId));
+    }
+
+    /**
+     * Deletes the snapshots a change has made outdated. The cache may drop the patched entry at any time
+     * (eviction, invalidation), and the snapshot must not resurface in its place.
+     *
+     * @param event The change that was applied
+     */
+    @EventListener
+    public void onSheetChange(SheetChangeEvent event) {
+        if (event.getType() != SheetChangeEvent.Type.CELL_UPDATED && event.getType() != SheetChangeEvent.Type.DATA_INVALIDATED) {
+            deleteSheets(event.getSpreadsheetId()); // Titles, indices or grid sizes changed
+        }
+        switch (event.getType()) {
+            case SHEET_ADDED, SHEET_MOVED -> {
+                // Cell data is unaffected
+            }
+            default -> deleteSheetData(event.getSpreadsheetId(), event.getSheetName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Sheet snapshot writer did not finish pending writes");
+        }
+    }
+
+    /**
+     * Maps a snapshot file and decodes it. A file that cannot be decoded is deleted, so it is not read again.
+     *
+     * @param file    Snapshot file
+     * @param kind    Expected kind of snapshot
+     * @param decoder Decodes the records following the header
+     * @return The decoded snapshot, or null if there is no usable snapshot
+     */
+    private <T> T read(Path file, byte kind, Decoder<T> decoder) {
+        if (!enabled || !Files.exists(file)) {
+            return null;
+        }
+        FileTime modified = null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            modified = Files.getLastModifiedTime(file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION || buffer.get() != kind) {
+                log.warn("Deleting snapshot with unexpected header: {}", file);
+                discard(file, modified);
+                return null;
+            }
+            long savedAt = buffer.getLong();
+            T result = decoder.decode(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalStateException(buffer.remaining() + " trailing bytes");
+            }
+            log.info("Read snapshot {} saved at {}", file.getFileName(), new Date(savedAt));
+            return result;
+        } catch (IOException e) {
+            log.warn("Could not read snapshot {}: {}", file, e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            // Truncated or corrupt file (BufferUnderflowException, implausible counts, ...)
+            log.warn("Deleting unreadable snapshot {}: {}", file, e.toString());
+            discard(file, modified);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes an unreadable snapshot unless it has been rewritten since it was read (or a rewrite is queued).
+     */
+    private void discard(Path file, FileTime readVersion) {
+        writer.execute(() -> {
+            try {
+                if (!pendingWrites.containsKey(file) && Files.exists(file) && Files.getLastModifiedTime(file).equals(readVersion)) {
+                    Files.delete(file);
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete snapshot {}: {}", file, e.getMessage());
+            }
+        });
+    }
+
+    private void writeAsync(Path file, byte kind, int count, RecordWriter records) {
+        BinaryWriter out = new BinaryWriter();
+        out.writeInt(MAGIC);
+        out.write(FORMAT_VERSION);
+        out.write(kind);
+        out.writeLong(System.currentTimeMillis());
+        out.writeVarint(count);
+        records.write(out);
+        // Encode on the caller's thread (the data may change afterwards), write to disk on the writer thread
+        if (pendingWrites.put(file, out.toByteArray()) != null) {
+            return; // A write for this file is already queued and will pick up the new payload
+        }
+        writer.execute(() -> {
+            byte[] payload = pendingWrites.remove(file);
+            if (payload == null) {
+                return;
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(payload);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.debug("Wrote snapshot {} ({} bytes)", file.getFileName(), payload.length);
+            } catch (IOException e) {
+                log.warn("Could not write snapshot {}: {}", file, e.getMessage());
+            }
+        });
+    }
+
+    private Path dataFile(String spreadsheetId, String sheetName) {
+        return directory.resolve(encodeName(spreadsheetId)).resolve("data-" + encodeName(sheetName) + ".bin");
+    }
+
+    private Path metadataFile(String spreadsheetId) {
+        return directory.resolve(encodeName(spreadsheetId)).resolve("sheets.bin");
+    }
+
+    private static String encodeName(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) {
+                throw new IllegalStateException("Varint longer than 5 bytes");
+            }
+            b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Reads a record count and checks it against the bytes left, so a corrupt count cannot trigger a huge allocation.
+     *
+     * @param minRecordSize Minimum encoded size of one record
+     */
+    private static int readCount(ByteBuffer buffer, int minRecordSize) {
+        int count = readVarint(buffer);
+        if (count < 0 || (long) count * minRecordSize > buffer.remaining()) {
+            throw new IllegalStateException("Implausible record count " + count + " with " + buffer.remaining() + " bytes left");
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readCount(buffer, 1);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(ByteBuffer buffer);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(BinaryWriter out);
+    }
+
+    /**
+     * Minimal growable big-endian buffer with varint support.
+     */
+    private static class BinaryWriter {
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        private void write(byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        private void writeInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7f) != 0) {
+                bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
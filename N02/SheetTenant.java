@@ -0,0 +1,129 @@
+package com.psc.sw.website.component;
+
+import com.psc.sw.website.config.SheetTenantProperties;
+import com.psc.sw.website.exception.TenantLimitExceededException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime state of one tenant: bounded concurrency (semaphore) and a token bucket for its Sheets API quota.
+ * Every Sheets API call made on behalf of the tenant goes through {@link #call(ApiCall)}.
+ */
+public class SheetTenant {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final String spreadsheetId;
+    @Getter
+    private final String credentialsFilePath;
+    @Getter
+    private final int maxCachedSheets;
+    private final Set<String> members;
+
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public SheetTenant(SheetTenantProperties.Tenant config) {
+        this.id = config.getId();
+        this.spreadsheetId = config.getSpreadsheetId();
+        this.credentialsFilePath = config.getCredentialsFilePath();
+        this.maxCachedSheets = config.getMaxCachedSheets();
+        this.members = Set.copyOf(config.getMembers());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMillis());
+        this.permits = new Semaphore(config.getMaxConcurrency(), true);
+        this.tokensPerNano = config.getRequestsPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        this.burst = Math.max(1, config.getRequestsPerMinute() / 6.0); // Allow up to 10 seconds worth of calls at once
+        this.tokens = burst;
+    }
+
+    /**
+     * Runs a Sheets API call within the tenant's concurrency and rate budget.
+     *
+     * @param apiCall The call to run
+     * @return The result of the call
+     * @throws IOException                  If the call fails
+     * @throws TenantLimitExceededException If no permit or rate token became available within the wait limit
+     */
+    public <T> T call(ApiCall<T> apiCall) throws IOException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        // Wait for the rate token first, so callers sleeping on the quota do not hold a concurrency permit
+        try {
+            long waitNanos = reserveToken(maxWaitNanos);
+            if (waitNanos < 0) {
+                throw new TenantLimitExceededException("Rate limit exceeded for tenant '" + id + "'");
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                refundToken();
+                throw new TenantLimitExceededException("Too many concurrent requests for tenant '" + id + "'");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TenantLimitExceededException("Interrupted while waiting for tenant '" + id + "'");
+        }
+        try {
+            return apiCall.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Tells whether a caller may use this tenant's spreadsheet. A tenant without configured members is only open
+     * to everyone if it is the default tenant (the spreadsheet this deployment served before it had tenants).
+     *
+     * @param principal Authenticated caller, or null for an anonymous request
+     * @return True if the caller is listed in the tenant's members (or the tenant is the open default tenant)
+     */
+    public boolean isAccessibleBy(Principal principal) {
+        if (members.isEmpty()) {
+            return SheetTenantRegistry.DEFAULT_TENANT.equals(id);
+        }
+        return principal != null && members.contains(principal.getName());
+    }
+
+    /**
+     * Takes one token from the bucket, possibly going into debt.
+     *
+     * @param maxWaitNanos Longest acceptable wait for the token
+     * @return Nanoseconds to wait before the token may be used, or -1 if that would exceed maxWaitNanos
+     */
+    private synchronized long reserveToken(long maxWaitNanos) {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        long waitNanos = tokens >= 1 ? 0 : (long) ((1 - tokens) / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * Returns a token taken by a call that was rejected before reaching the Sheets API.
+     */
+    private synchronized void refundToken() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    /**
+     * A Sheets API call, typically {@code request::execute}.
+     */
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        T call() throws IOException;
+    }
+}
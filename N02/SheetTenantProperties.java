@@ -0,0 +1,35 @@
+package com.psc.sw.website.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tenant definitions bound from "google.sheets.tenants" in application.yml.
+ * Each tenant owns one spreadsheet and gets its own cache partition, rate-limit budget and concurrency bound.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "google.sheets")
+public class SheetTenantProperties {
+
+    private List<Tenant> tenants = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Tenant {
+        private String id;
+        private String spreadsheetId;
+        private String credentialsFilePath;      // Optional; defaults to google.credentials-file-path
+        private int maxConcurrency = 4;          // Concurrent Sheets API calls
+        private int requestsPerMinute = 60;      // Sheets API calls per minute (Google's default per-user quota)
+        private int maxCachedSheets = 100;       // Sheets kept in the data cache
+        private long maxWaitMillis = 2000;       // How long a call may wait for a permit before being rejected
+        private List<String> members = new ArrayList<>(); // Names of the principals allowed to use the tenant
+    }
+}
@@ -0,0 +1,112 @@
+package com.psc.sw.website.component;
+
+import com.psc.sw.website.config.SheetTenantProperties;
+import com.psc.sw.website.exception.TenantAccessDeniedException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the tenants (teams) served by this deployment, each owning one spreadsheet.
+ * The spreadsheet configured in google.sheets.sheet-id is always available as tenant "default".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SheetTenantRegistry {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private final SheetTenantProperties properties;
+    private final ProfileComponent profileComponent;
+
+    private final Map<String, SheetTenant> tenantsById = new ConcurrentHashMap<>();
+    private final Map<String, SheetTenant> tenantsBySpreadsheetId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (SheetTenantProperties.Tenant config : properties.getTenants()) {
+            register(config);
+        }
+        if (!tenantsById.containsKey(DEFAULT_TENANT) && !tenantsBySpreadsheetId.containsKey(profileComponent.getSheetId())) {
+            SheetTenantProperties.Tenant config = new SheetTenantProperties.Tenant();
+            config.setId(DEFAULT_TENANT);
+            config.setSpreadsheetId(profileComponent.getSheetId());
+            register(config);
+        }
+        log.info("Registered {} sheet tenant(s): {}", tenantsById.size(), tenantsById.keySet());
+    }
+
+    private void register(SheetTenantProperties.Tenant config) {
+        if (config.getId() == null || config.getSpreadsheetId() == null) {
+            throw new IllegalStateException("Sheet tenants need both id and spreadsheet-id");
+        }
+        SheetTenant tenant = new SheetTenant(config);
+        if (tenantsById.putIfAbsent(tenant.getId(), tenant) != null
+                || tenantsBySpreadsheetId.putIfAbsent(tenant.getSpreadsheetId(), tenant) != null) {
+            throw new IllegalStateException("Duplicate sheet tenant '" + tenant.getId() + "' or spreadsheet '" + tenant.getSpreadsheetId() + "'");
+        }
+    }
+
+    /**
+     * Resolves a tenant by ID.
+     *
+     * @param tenantId ID of the tenant, or null/blank for the default tenant
+     * @return The tenant
+     * @throws IllegalArgumentException If the tenant is unknown
+     */
+    public SheetTenant resolve(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return forSpreadsheet(profileComponent.getSheetId());
+        }
+        SheetTenant tenant = tenantsById.get(tenantId);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Unknown tenant '" + tenantId + "'");
+        }
+        return tenant;
+    }
+
+    /**
+     * Resolves a tenant by ID on behalf of a caller, checking that the caller is one of its members.
+     *
+     * @param tenantId  ID of the tenant, or null/blank for the default tenant
+     * @param principal Authenticated caller, or null for an anonymous request
+     * @return The tenant
+     * @throws IllegalArgumentException    If the tenant is unknown
+     * @throws TenantAccessDeniedException If the caller is not a member of the tenant
+     */
+    public SheetTenant resolveFor(String tenantId, Principal principal) {
+        SheetTenant tenant = resolve(tenantId);
+        if (!tenant.isAccessibleBy(principal)) {
+            log.warn("Denied access to tenant '{}' for {}", tenant.getId(), principal == null ? "anonymous request" : principal.getName());
+            throw new TenantAccessDeniedException("Access to tenant '" + tenant.getId() + "' is not allowed");
+        }
+        return tenant;
+    }
+
+    /**
+     * Resolves the tenant owning a spreadsheet.
+     *
+     * @param spreadsheetId ID of the spreadsheet
+     * @return The tenant
+     * @throws IllegalArgumentException If the spreadsheet is not registered to any tenant
+     */
+    public SheetTenant forSpreadsheet(String spreadsheetId) {
+        SheetTenant tenant = tenantsBySpreadsheetId.get(spreadsheetId);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Spreadsheet '" + spreadsheetId + "' is not registered to any tenant");
+        }
+        return tenant;
+    }
+
+    public Collection<SheetTenant> getTenants() {
+        return Collections.unmodifiableCollection(tenantsById.values());
+    }
+}
@@ -0,0 +1,296 @@
+package com.psc.sw.website.service;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.psc.sw.website.component.CsvWriter;
+import com.psc.sw.website.component.RowReader;
+import com.psc.sw.website.dto.ImportJob;
+import com.psc.sw.website.exception.TenantLimitExceededException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk import (CSV/XLSX) and export (CSV) of whole sheets.
+ * Imports run as background jobs: the upload is parsed row by row, buffered into chunks and written with
+ * values().update calls, with at most max-in-flight chunks outstanding. Chunks are read one window
+ * (max-in-flight chunks) ahead, so the grid is grown once per window to exactly the rows and columns that window
+ * needs; heap use is bounded by 2 x chunk-rows x max-in-flight regardless of file size. Writes go through the tenant's rate limiter, so a large
+ * import runs at the quota limit; throttled or transiently failing calls are retried with backoff.
+ * Exports stream windowed reads straight to the response.
+ */
+@Slf4j
+@Service
+public class SheetTransferService {
+
+    private static final int EXPORT_WINDOW_ROWS = 1000;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long MAX_BACKOFF_MILLIS = 16_000;
+    private static final long FINISHED_JOB_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final SheetService sheetService;
+    private final int chunkRows;
+    private final int maxInFlight;
+    private final ConcurrentMap<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService jobExecutor;
+    private final ExecutorService writeExecutor;
+
+    public SheetTransferService(SheetService sheetService,
+                                @Value("${google.sheets.import.chunk-rows:500}") int chunkRows,
+                                @Value("${google.sheets.import.max-in-flight:4}") int maxInFlight) {
+        this.sheetService = sheetService;
+        this.chunkRows = Math.max(1, chunkRows);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.jobExecutor = Executors.newFixedThreadPool(2, daemon("sheet-import"));
+        this.writeExecutor = Executors.newFixedThreadPool(this.maxInFlight, daemon("sheet-import-write"));
+    }
+
+    /**
+     * Stores an uploaded file and starts importing it into a sheet in the background.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet to write to
+     * @param file          Uploaded CSV (UTF-8) or XLSX file
+     * @param startRow      Row index at which the first row of the file is written (0-based)
+     * @return The job, to be polled with getJob
+     * @throws IOException              If the upload cannot be stored
+     * @throws IllegalArgumentException If the sheet name or start row is invalid
+     */
+    public ImportJob startImport(String spreadsheetId, String sheetName, MultipartFile file, int startRow) throws IOException {
+        if (sheetName == null || sheetName.isBlank()) {
+            throw new IllegalArgumentException("sheetName is required");
+        }
+        if (startRow < 0) {
+            throw new IllegalArgumentException("startRow must be >= 0");
+        }
+        // The multipart temp file is removed when the request ends, so keep our own copy for the job
+        Path upload = Files.createTempFile("sheet-import-", ".upload");
+        file.transferTo(upload);
+
+        purgeFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), spreadsheetId, sheetName, file.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> runImport(job, upload, startRow));
+        log.info("Started import job {} of '{}' into sheet '{}' ({} bytes)", job.getId(), job.getFileName(), sheetName, file.getSize());
+        return job;
+    }
+
+    /**
+     * @param jobId ID returned by startImport
+     * @return The job, or null if it is unknown or expired
+     */
+    public ImportJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Streams a sheet as CSV (UTF-8 with byte order mark, CRLF line endings).
+     * Rows are read in windows of 1000; trailing blank rows of the grid are omitted.
+     *
+     * @param spreadsheetId ID of the spreadsheet containing the sheet
+     * @param sheetName     Name of the sheet
+     * @param out           Target stream
+     * @throws Exception If reading the sheet or writing the stream fails
+     */
+    @SuppressWarnings("unchecked")
+    public void exportCsv(String spreadsheetId, String sheetName, OutputStream out) throws Exception {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write('\uFEFF'); // Lets Excel detect UTF-8 (Korean text)
+        CsvWriter csv = new CsvWriter(writer);
+        long blankRows = 0; // Written only once a non-blank row follows
+        int offset = 0;
+        int totalRows;
+        do {
+            int windowOffset = offset;
+            Map<String, Object> window = withRetry(() -> sheetService.getRowWindow(spreadsheetId, sheetName, windowOffset, EXPORT_WINDOW_ROWS));
+            totalRows = (Integer) window.get("totalRows");
+            List<List<Object>> rows = (List<List<Object>>) window.get("rows");
+            for (List<Object> row : rows) {
+                if (row.isEmpty()) {
+                    blankRows++;
+                } else {
+                    csv.writeBlankRows(blankRows);
+                    blankRows = 0;
+                    csv.writeRow(row);
+                }
+            }
+            blankRows += Math.max(0, Math.min(EXPORT_WINDOW_ROWS, totalRows - offset) - rows.size());
+            offset += EXPORT_WINDOW_ROWS;
+        } while (offset < totalRows);
+        csv.flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        writeExecutor.shutdownNow();
+    }
+
+    private void runImport(ImportJob job, Path upload, int startRow) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Exception> writeFailure = new AtomicReference<>();
+        Exception failure = null;
+        int nextRow = startRow;
+        int[] grid = {0, 0}; // Rows and columns the grid is known to have
+        try (RowReader reader = RowReader.open(upload, job.getFileName())) {
+            List<List<List<Object>>> window = new ArrayList<>(maxInFlight);
+            List<List<Object>> chunk = new ArrayList<>(chunkRows);
+            List<String> row;
+            while (writeFailure.get() == null && (row = reader.next()) != null) {
+                chunk.add(new ArrayList<>(row));
+                job.getRowsReadCounter().incrementAndGet();
+                if (chunk.size() == chunkRows) {
+                    window.add(chunk);
+                    chunk = new ArrayList<>(chunkRows);
+                    if (window.size() == maxInFlight) {
+                        nextRow = dispatchWindow(job, window, nextRow, grid, inFlight, writeFailure);
+                        window = new ArrayList<>(maxInFlight);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                window.add(chunk);
+            }
+            if (!window.isEmpty() && writeFailure.get() == null) {
+                dispatchWindow(job, window, nextRow, grid, inFlight, writeFailure);
+            }
+        } catch (Exception e) {
+            failure = e;
+        }
+        inFlight.acquireUninterruptibly(maxInFlight); // Wait for outstanding writes
+        if (failure == null) {
+            failure = writeFailure.get();
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete upload {}: {}", upload, e.getMessage());
+        }
+        if (job.getRowsWritten() > 0) {
+            sheetService.invalidateSheetData(job.getSpreadsheetId(), job.getSheetName());
+        }
+        if (failure == null) {
+            job.complete();
+            log.info("Import job {} completed: {} rows in {} ms", job.getId(), job.getRowsWritten(),
+                    job.getFinishedAtMillis() - job.getStartedAtMillis());
+        } else {
+            job.fail(failure.getMessage());
+            log.error("Import job {} failed after {} rows: {}", job.getId(), job.getRowsWritten(), failure.getMessage());
+        }
+    }
+
+    /**
+     * Grows the grid to exactly the rows and columns a window of chunks needs, then hands each chunk to the
+     * write pool once an in-flight slot is free. values().update answers 400 for cells outside the grid.
+     *
+     * @param grid Rows and columns the grid is known to have; updated in place
+     * @return Row index following the window
+     */
+    private int dispatchWindow(ImportJob job, List<List<List<Object>>> window, int startRow, int[] grid,
+                               Semaphore inFlight, AtomicReference<Exception> writeFailure) throws Exception {
+        int endRow = startRow;
+        int columns = 0;
+        for (List<List<Object>> chunk : window) {
+            endRow += chunk.size();
+            for (List<Object> row : chunk) {
+                columns = Math.max(columns, row.size());
+            }
+        }
+        if (endRow > grid[0] || columns > grid[1]) {
+            int minRows = Math.max(endRow, grid[0]);
+            int minColumns = Math.max(columns, grid[1]);
+            withRetry(() -> {
+                sheetService.ensureGridSize(job.getSpreadsheetId(), job.getSheetName(), minRows, minColumns);
+                return null;
+            });
+            grid[0] = minRows;
+            grid[1] = minColumns;
+        }
+        int chunkStart = startRow;
+        for (List<List<Object>> chunk : window) {
+            dispatch(job, chunk, chunkStart, inFlight, writeFailure);
+            chunkStart += chunk.size();
+        }
+        return chunkStart;
+    }
+
+    /**
+     * Hands a chunk to the write pool once an in-flight slot is free.
+     */
+    private void dispatch(ImportJob job, List<List<Object>> chunk, int startRow,
+                          Semaphore inFlight, AtomicReference<Exception> writeFailure) throws InterruptedException {
+        inFlight.acquire();
+        writeExecutor.execute(() -> {
+            try {
+                withRetry(() -> {
+                    sheetService.writeRows(job.getSpreadsheetId(), job.getSheetName(), startRow, chunk);
+                    return null;
+                });
+                job.getRowsWrittenCounter().addAndGet(chunk.size());
+            } catch (Exception e) {
+                writeFailure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Runs a Sheets call, retrying with exponential backoff when the tenant budget is exhausted
+     * or the API answers 429 / 5xx.
+     */
+    private <T> T withRetry(Callable<T> call) throws Exception {
+        long backoff = 250;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (TenantLimitExceededException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            } catch (GoogleJsonResponseException e) {
+                if (attempt >= MAX_ATTEMPTS || (e.getStatusCode() != 429 && e.getStatusCode() < 500)) {
+                    throw e;
+                }
+                log.warn("Sheets API returned {}; retrying in {} ms", e.getStatusCode(), backoff);
+            }
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - FINISHED_JOB_RETENTION_MILLIS;
+        jobs.values().removeIf(job -> job.getStatus() != ImportJob.Status.RUNNING && job.getFinishedAtMillis() < cutoff);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
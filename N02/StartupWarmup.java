@@ -0,0 +1,131 @@
+package com.psc.sw.website.component;
+
+import com.facebook.ads.sdk.APIContext;
+import com.facebook.ads.sdk.serverside.ActionSource;
+import com.facebook.ads.sdk.serverside.Content;
+import com.facebook.ads.sdk.serverside.CustomData;
+import com.facebook.ads.sdk.serverside.DeliveryCategory;
+import com.facebook.ads.sdk.serverside.Event;
+import com.facebook.ads.sdk.serverside.EventRequest;
+import com.facebook.ads.sdk.serverside.UserData;
+import com.psc.sw.website.service.SheetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+/**
+ * Warms up the application off the request path once it has started: Google credentials, trust store and
+ * Sheets clients for every tenant, the sheet metadata, and the Meta Business SDK classes used by /sw/meta.
+ * Exposed as the "startupWarmup" health indicator, which is part of the readiness group, so the readiness
+ * probe only reports UP (and the load balancer only routes traffic) once warm-up has succeeded for every tenant.
+ * A failed warm-up is reported as DOWN and retried with exponential backoff until it succeeds, so the instance
+ * stays out of rotation while its clients are broken and rejoins on its own once Google is reachable again.
+ */
+@Slf4j
+@Component("startupWarmup")
+@RequiredArgsConstructor
+public class StartupWarmup implements HealthIndicator {
+
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 5_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 300_000;
+
+    private final SheetService sheetService;
+    private final SheetTenantRegistry tenantRegistry;
+    private volatile boolean done;
+    private volatile String failure; // Error of the last failed attempt, cleared on success
+    private volatile long warmedUpAtMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        if (failure != null) {
+            return Health.down().withDetail("warmup", "failed, retrying").withDetail("error", failure).build();
+        }
+        if (!done) {
+            return Health.outOfService().withDetail("warmup", "in progress").build();
+        }
+        return Health.up().withDetail("warmedUpAtMillis", warmedUpAtMillis).build();
+    }
+
+    private void warmUp() {
+        long delayMillis = INITIAL_RETRY_DELAY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            String error = attemptWarmUp();
+            if (error == null) {
+                warmedUpAtMillis = System.currentTimeMillis();
+                done = true;
+                failure = null;
+                return;
+            }
+            failure = error;
+            log.error("Warm-up attempt {} failed, readiness is DOWN; retrying in {} ms: {}", attempt, delayMillis, error);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMillis = Math.min(MAX_RETRY_DELAY_MILLIS, delayMillis * 2);
+        }
+    }
+
+    /**
+     * @return Null if everything was warmed up, otherwise a description of what failed
+     */
+    private String attemptWarmUp() {
+        long start = System.nanoTime();
+        try {
+            int tenants = sheetService.warmUp();
+            int expected = tenantRegistry.getTenants().size();
+            if (tenants < expected) {
+                return (expected - tenants) + " of " + expected + " tenant(s) could not be warmed up";
+            }
+            long sheetsMillis = (System.nanoTime() - start) / 1_000_000;
+            long metaStart = System.nanoTime();
+            warmUpMetaSdk();
+            log.info("Warm-up finished: {} tenant(s) in {} ms, Meta SDK in {} ms; ready {} ms after JVM start",
+                    tenants, sheetsMillis, (System.nanoTime() - metaStart) / 1_000_000,
+                    ManagementFactory.getRuntimeMXBean().getUptime());
+            return null;
+        } catch (RuntimeException | LinkageError e) {
+            return e.toString();
+        }
+    }
+
+    /**
+     * Loads and initializes the Conversions API classes and their JSON serialization by building a sample event.
+     * Nothing is sent to Meta: the event request is only serialized locally, so the HTTP client, DNS lookup and
+     * TLS handshake to the Graph API are still paid by the first real /sw/meta event. It only helps the SDK client
+     * (meta.capi.client=sdk); the HTTP client has no comparable class-loading cost.
+     */
+    private static void warmUpMetaSdk() {
+        APIContext context = new APIContext("warmup");
+        Event event = new Event()
+                .eventName("Purchase")
+                .eventTime(System.currentTimeMillis() / 1000L)
+                .userData(new UserData()
+                        .emails(Collections.singletonList("warmup@example.com"))
+                        .phones(Collections.singletonList("00000000000")))
+                .customData(new CustomData()
+                        .addContent(new Content().productId("warmup").quantity(1L).deliveryCategory(DeliveryCategory.home_delivery))
+                        .currency("krw")
+                        .value(0F))
+                .actionSource(ActionSource.website);
+        EventRequest request = new EventRequest("0", context);
+        request.addDataItem(event);
+        log.debug("Meta SDK warmed up ({} characters of sample payload)", request.toString().length());
+    }
+}
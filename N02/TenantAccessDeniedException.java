@@ -0,0 +1,15 @@
+package com.psc.sw.website.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the caller is not a member of the tenant whose spreadsheet it asked for.
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class TenantAccessDeniedException extends RuntimeException {
+
+    public TenantAccessDeniedException(String message) {
+        super(message);
+    }
+}
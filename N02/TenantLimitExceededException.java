@@ -0,0 +1,15 @@
+package com.psc.sw.website.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a tenant has used up its concurrency or rate-limit budget for Sheets API calls.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TenantLimitExceededException extends RuntimeException {
+
+    public TenantLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,79 @@
+package com.psc.sw.website.component;
+
+import com.psc.sw.website.dto.CellUpdateBatch;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Opens a server span for every SheetController and SwController endpoint.
+ * Spans created further down (SheetService lookups, Sheets API and Graph API calls) become its children,
+ * so a trace shows every round trip a single request caused.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(com.psc.sw.website.controller.SheetController) || within(com.psc.sw.website.controller.sw.SwController)")
+    public Object traceEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Span span = tracer.spanBuilder(signature.getDeclaringType().getSimpleName() + "." + signature.getName())
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("request.type", signature.getName())
+                .startSpan();
+        if (span.isRecording()) {
+            addRequestAttributes(span, signature.getParameterNames(), joinPoint.getArgs());
+        }
+        try (Scope ignored = span.makeCurrent()) {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity<?> response) {
+                span.setAttribute("http.response.status_code", response.getStatusCode().value());
+            }
+            return result;
+        } catch (Throwable t) {
+            span.recordException(t);
+            span.setStatus(StatusCode.ERROR, t.getClass().getSimpleName());
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static void addRequestAttributes(Span span, String[] parameterNames, Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            String name = parameterNames == null ? "" : parameterNames[i];
+            if (arg instanceof String value && (name.equals("sheetName") || name.equals("oldSheetName"))) {
+                span.setAttribute("sheet.name", value);
+            } else if (arg instanceof String value && name.equals("tenant")) {
+                span.setAttribute("sheet.tenant", value);
+            } else if (arg instanceof CellUpdateBatch batch) {
+                span.setAttribute("sheet.name", String.valueOf(batch.getSheetName()));
+                span.setAttribute("sheet.edit_count", batch.getEdits() == null ? 0 : batch.getEdits().size());
+            }
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            span.setAttribute("http.request.method", request.getMethod());
+            span.setAttribute("url.path", request.getRequestURI());
+            if (request.getContentLengthLong() >= 0) {
+                span.setAttribute("http.request.body.size", request.getContentLengthLong());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.psc.sw.website.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenTelemetry setup. The span exporter is selected with tracing.exporter:
+ * none (default, no-op tracer), logging (spans written to the application log) or otlp (collector at tracing.otlp-endpoint).
+ * Tests that need to assert on finished spans provide their own OpenTelemetry bean, which replaces the one defined here.
+ * On shutdown the tracer provider flushes the spans still buffered by the batch processor and closes the exporter.
+ */
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    public static final String INSTRUMENTATION_NAME = "com.psc.sw.website";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private SdkTracerProvider tracerProvider;
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "otlp")
+    public SpanExporter otlpSpanExporter(@Value("${tracing.otlp-endpoint:http://localhost:4317}") String endpoint) {
+        return OtlpGrpcSpanExporter.builder().setEndpoint(endpoint).build();
+    }
+
+    @Bean(destroyMethod = "") // Shut down in shutdown(), with a bounded wait for the final export
+    @ConditionalOnMissingBean
+    public OpenTelemetry openTelemetry(ObjectProvider<SpanExporter> spanExporter,
+                                       @Value("${spring.application.name:website}") String serviceName) {
+        SpanExporter exporter = spanExporter.getIfAvailable();
+        if (exporter == null) {
+            log.info("Tracing disabled (no span exporter configured)");
+            return OpenTelemetry.noop();
+        }
+        tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                .addSpanProcessor(BatchSpanProcessor.builder(exporter).build())
+                .build();
+        log.info("Tracing enabled with {}", exporter.getClass().getSimpleName());
+        return OpenTelemetrySdk.builder().setTracerProvider(tracerProvider).build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (tracerProvider != null && !tracerProvider.shutdown().join(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess()) {
+            log.warn("Tracer provider did not shut down cleanly; buffered spans may be lost");
+        }
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+}
@@ -0,0 +1,159 @@
+package com.psc.sw.website.component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Brokerless invalidation transport: each node listens on a UDP port and sends every message
+ * as one datagram to the configured peers. Invalidations are best-effort; a lost datagram is
+ * covered by the cache TTL, after which the peer revalidates against the Sheets API anyway.
+ * The socket is bound to the configured interface only, every datagram carries an HMAC-SHA256 of its payload
+ * keyed with a shared secret, and datagrams from addresses other than the configured peers or with a wrong
+ * HMAC are dropped, since a forged message would patch or evict cache entries. The signed message includes the
+ * sender's timestamp and sequence number, which SheetInvalidationBus checks to drop replayed and duplicate datagrams.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "google.sheets.invalidation.transport", havingValue = "udp")
+public class UdpInvalidationTransport implements SheetInvalidationTransport {
+
+    /** Largest message that fits in a single UDP datagram. */
+    public static final int MAX_DATAGRAM_BYTES = 65_507;
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 32;
+    private static final int MIN_SECRET_BYTES = 16;
+    private static final LogSampler DROP_LOG = LogSampler.perSecond(1); // Forged traffic must not flood the log
+
+    private final DatagramChannel channel;
+    private final SecretKeySpec key;
+    private final Set<InetSocketAddress> peers = new LinkedHashSet<>();
+    private final List<Consumer<byte[]>> listeners = new ArrayList<>();
+    private final Thread receiver;
+
+    public UdpInvalidationTransport(@Value("${google.sheets.invalidation.udp.port:7400}") int port,
+                                    @Value("${google.sheets.invalidation.udp.peers:}") String peers,
+                                    @Value("${google.sheets.invalidation.udp.bind-address}") String bindAddress,
+                                    @Value("${google.sheets.invalidation.udp.secret}") String secret) throws IOException {
+        if (bindAddress.isBlank()) {
+            throw new IllegalStateException("google.sheets.invalidation.udp.bind-address must be set");
+        }
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("google.sheets.invalidation.udp.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, MAC_ALGORITHM);
+        Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .forEach(peer -> {
+                    int colon = peer.lastIndexOf(':');
+                    this.peers.add(colon < 0
+                            ? new InetSocketAddress(peer, port)
+                            : new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1))));
+                });
+        this.channel = DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+        this.receiver = new Thread(this::receiveLoop, "sheet-invalidation-udp");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        log.info("UDP invalidation transport listening on {}:{} with peers {}", bindAddress, port, this.peers);
+    }
+
+    @Override
+    public void publish(byte[] message) throws IOException {
+        if (message.length + MAC_BYTES > MAX_DATAGRAM_BYTES) {
+            throw new IOException("Invalidation message too large for a datagram: " + message.length + " bytes");
+        }
+        byte[] datagram = Arrays.copyOf(message, message.length + MAC_BYTES);
+        System.arraycopy(mac(message), 0, datagram, message.length, MAC_BYTES);
+        for (InetSocketAddress peer : peers) {
+            channel.send(ByteBuffer.wrap(datagram), peer);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<byte[]> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        channel.close();
+    }
+
+    private void receiveLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_BYTES);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                SocketAddress source = channel.receive(buffer);
+                buffer.flip();
+                if (!peers.contains(source)) {
+                    dropped("unknown source", source);
+                    continue;
+                }
+                if (buffer.remaining() < MAC_BYTES) {
+                    dropped("truncated datagram", source);
+                    continue;
+                }
+                byte[] message = new byte[buffer.remaining() - MAC_BYTES];
+                byte[] tag = new byte[MAC_BYTES];
+                buffer.get(message).get(tag);
+                if (!MessageDigest.isEqual(tag, mac(message))) {
+                    dropped("invalid HMAC", source);
+                    continue;
+                }
+                List<Consumer<byte[]>> current;
+                synchronized (this) {
+                    current = List.copyOf(listeners);
+                }
+                for (Consumer<byte[]> listener : current) {
+                    listener.accept(message);
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to receive invalidation: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void dropped(String reason, SocketAddress source) {
+        if (DROP_LOG.tryAcquire()) {
+            log.atWarn().addKeyValue("reason", reason).addKeyValue("source", source)
+                    .addKeyValue("suppressed", DROP_LOG.drainSuppressed()).log("Dropped invalidation datagram");
+        }
+    }
+
+    private byte[] mac(byte[] message) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(message);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.psc.sw.website.component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming reader for the first worksheet of an XLSX workbook, using only the JDK (ZipFile + StAX).
+ * The worksheet XML is pulled row by row; only the shared string table is held in memory.
+ * Cells are returned as stored: numbers and dates as their raw values, booleans as TRUE/FALSE.
+ */
+public class XlsxRowReader implements RowReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private int nextRowNumber = 1;   // 1-based row number expected next
+    private int blankRowsPending;    // Rows skipped in the XML that still have to be returned as blank
+    private List<String> bufferedRow; // Row read ahead while blank rows are pending
+
+    public XlsxRowReader(Path file) throws IOException {
+        this.zip = new ZipFile(file.toFile());
+        try {
+            this.sharedStrings = readSharedStrings();
+            ZipEntry entry = zip.getEntry(firstWorksheetPath());
+            if (entry == null) {
+                throw new IOException("Workbook contains no worksheet");
+            }
+            this.sheetStream = zip.getInputStream(entry);
+            this.sheet = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException io ? io : new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        if (blankRowsPending > 0) {
+            blankRowsPending--;
+            return Collections.emptyList();
+        }
+        if (bufferedRow != null) {
+            List<String> row = bufferedRow;
+            bufferedRow = null;
+            return row;
+        }
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("row")) {
+                    String r = sheet.getAttributeValue(null, "r");
+                    int rowNumber = r == null ? nextRowNumber : Integer.parseInt(r);
+                    List<String> row = readRow();
+                    int gap = rowNumber - nextRowNumber;
+                    nextRowNumber = rowNumber + 1;
+                    if (gap > 0) {
+                        blankRowsPending = gap - 1;
+                        bufferedRow = row;
+                        return Collections.emptyList();
+                    }
+                    return row;
+                }
+            }
+            return null;
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException("Invalid worksheet XML: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // Closing the underlying streams below is what matters
+        }
+        sheetStream.close();
+        zip.close();
+    }
+
+    private List<String> readRow() throws XMLStreamException {
+        List<String> row = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("row")) {
+                return row;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("c")) {
+                String reference = sheet.getAttributeValue(null, "r");
+                String type = sheet.getAttributeValue(null, "t");
+                int column = reference == null ? row.size() : columnIndex(reference);
+                String value = readCellValue(type);
+                while (row.size() < column) {
+                    row.add("");
+                }
+                row.add(value);
+            }
+        }
+        return row;
+    }
+
+    private String readCellValue(String type) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String name = sheet.getLocalName();
+                if (name.equals("v") || name.equals("t")) {
+                    text.append(sheet.getElementText()); // Consumes the end element
+                    depth--;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        String value = text.toString();
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(value.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value) ? "TRUE" : "FALSE";
+        }
+        return value;
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        List<String> strings = new ArrayList<>();
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            StringBuilder current = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("si")) {
+                        current = new StringBuilder();
+                    } else if (name.equals("t") && current != null) {
+                        current.append(reader.getElementText()); // Rich text is split over several runs
+                    } else if (name.equals("rPh")) {
+                        skipElement(reader); // Phonetic hints are not part of the value
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("si") && current != null) {
+                    strings.add(current.toString());
+                    current = null;
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    /**
+     * Resolves the path of the first worksheet through workbook.xml and its relationships.
+     */
+    private String firstWorksheetPath() throws IOException, XMLStreamException {
+        String relationshipId = firstAttribute("xl/workbook.xml", "sheet", "id");
+        if (relationshipId != null) {
+            ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+            if (rels != null) {
+                try (InputStream in = zip.getInputStream(rels)) {
+                    XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+                    while (reader.hasNext()) {
+                        if (reader.next() == XMLStreamConstants.START_ELEMENT
+                                && reader.getLocalName().equals("Relationship")
+                                && relationshipId.equals(reader.getAttributeValue(null, "Id"))) {
+                            String target = reader.getAttributeValue(null, "Target");
+                            return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                        }
+                    }
+                }
+            }
+        }
+        return "xl/worksheets/sheet1.xml";
+    }
+
+    private String firstAttribute(String path, String element, String localAttribute) throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry(path);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals(element)) {
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        // r:id lives in the relationships namespace
+                        if (reader.getAttributeLocalName(i).equals(localAttribute) && reader.getAttributeNamespace(i) != null) {
+                            return reader.getAttributeValue(i);
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Converts the letters of a cell reference such as "AB12" to a 0-based column index.
+     */
+    private static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
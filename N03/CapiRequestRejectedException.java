@@ -0,0 +1,54 @@
+package com.psc.sw.website.exception;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a CapiSender when the Conversions API rejected a request because of invalid event data
+ * (Graph error code 100, answered with HTTP 400), as opposed to network, token, permission or unknown-pixel errors.
+ * Nothing in the request was accepted, so its events can be resent in smaller batches to isolate the invalid ones.
+ */
+@Getter
+public class CapiRequestRejectedException extends IOException {
+
+    private static final int INVALID_PARAMETER = 100;
+    private static final int OBJECT_NOT_FOUND = 33; // Subcode for a pixel ID that does not exist or is not accessible
+
+    /** Graph error code, subcode and message; equal for requests rejected for the same reason. */
+    private final String graphError;
+
+    private CapiRequestRejectedException(String message, String graphError, Throwable cause) {
+        super(message, cause);
+        this.graphError = graphError;
+    }
+
+    /**
+     * Classifies a Graph API error response.
+     *
+     * @param response Parsed error response body (may be null)
+     * @param message  Message of the exception to create
+     * @param cause    Original exception (may be null)
+     * @return The exception if the error is an event-level invalid parameter, otherwise null
+     */
+    public static CapiRequestRejectedException fromGraphError(JsonObject response, String message, Throwable cause) {
+        if (response == null || !response.has("error") || !response.get("error").isJsonObject()) {
+            return null;
+        }
+        JsonObject error = response.getAsJsonObject("error");
+        Integer code = intOf(error.get("code"));
+        Integer subcode = intOf(error.get("error_subcode"));
+        if (code == null || code != INVALID_PARAMETER || (subcode != null && subcode == OBJECT_NOT_FOUND)) {
+            return null;
+        }
+        JsonElement graphMessage = error.get("message");
+        String signature = code + "/" + subcode + ": " + (graphMessage == null ? "" : graphMessage.toString());
+        return new CapiRequestRejectedException(message, signature, cause);
+    }
+
+    private static Integer intOf(JsonElement element) {
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber() ? element.getAsInt() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.psc.sw.website.service.sw;
+
+import com.facebook.ads.sdk.serverside.Event;
+import com.psc.sw.website.exception.CapiRequestRejectedException;
+
+import java.util.List;
+
+/**
+ * Sends a batch of events of one pixel to the Conversions API.
+ */
+public interface CapiSender {
+
+    /**
+     * @param pixelId     ID of the pixel (dataset) receiving the events
+     * @param accessToken Access token authorized for the pixel
+     * @param events      Events to send in one request
+     * @throws CapiRequestRejectedException If the API rejected the request as invalid (HTTP 400); none of the events
+     *                                      were accepted, and the caller may resend them in smaller batches
+     * @throws Exception                    If the request fails otherwise; the whole batch is considered failed
+     */
+    void send(String pixelId, String accessToken, List<Event> events) throws Exception;
+}
@@ -0,0 +1,213 @@
+package com.psc.sw.website.component;
+
+import com.psc.sw.website.dto.PixelDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling per-minute aggregates of the conversion events sent by /sw/meta: volume and errors per pixel,
+ * revenue, and how many events carried each match-quality field (fbp, fbc, email, phone).
+ * Recording is lock-free: each minute has its own bucket of LongAdder/DoubleAdder counters in a ring, and a
+ * bucket is replaced by compare-and-set when its slot is reused for a new minute.
+ * Exposed as the "conversions" actuator endpoint (/actuator/conversions?minutes=N). It reports revenue and is not
+ * secured by the application, so it is not exposed over HTTP by default; expose it only on a management port that
+ * is reachable from the internal network alone (see README).
+ * Pixel IDs come from the client, so each minute tracks at most max-pixels-per-minute distinct pixels and counts
+ * any further ones under "other".
+ */
+@Component
+@Endpoint(id = "conversions")
+public class ConversionMetrics {
+
+    private static final String OTHER_PIXELS = "other";
+
+    private final int windowMinutes;
+    private final int maxPixelsPerMinute;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public ConversionMetrics(@Value("${meta.capi.metrics.window-minutes:60}") int windowMinutes,
+                             @Value("${meta.capi.metrics.max-pixels-per-minute:100}") int maxPixelsPerMinute) {
+        this.windowMinutes = Math.max(1, windowMinutes);
+        this.maxPixelsPerMinute = Math.max(1, maxPixelsPerMinute);
+        this.buckets = new AtomicReferenceArray<>(this.windowMinutes);
+    }
+
+    /**
+     * Records one conversion event and the outcome of its Conversions API request.
+     *
+     * @param pixelDto Pixel and purchase data of the event
+     * @param success  True if the request carrying the event succeeded
+     */
+    public void record(PixelDto pixelDto, boolean success) {
+        Bucket bucket = bucket(currentMinute());
+        String pixelId = pixelDto.getPixelId() == null ? "unknown" : pixelDto.getPixelId();
+        PixelCounters pixel = bucket.pixels.get(pixelId);
+        if (pixel == null) {
+            // Racing recorders may overshoot the bound by a few entries, which is harmless
+            String key = bucket.pixels.size() < maxPixelsPerMinute ? pixelId : OTHER_PIXELS;
+            pixel = bucket.pixels.computeIfAbsent(key, id -> new PixelCounters());
+        }
+        bucket.total.add(success, pixelDto.getProductValue());
+        pixel.add(success, pixelDto.getProductValue());
+        if (present(pixelDto.getFbp())) {
+            bucket.withFbp.increment();
+        }
+        if (present(pixelDto.getFbc())) {
+            bucket.withFbc.increment();
+        }
+        if (present(pixelDto.getEmail())) {
+            bucket.withEmail.increment();
+        }
+        if (present(pixelDto.getPhone())) {
+            bucket.withPhone.increment();
+        }
+    }
+
+    /**
+     * Reports the aggregates of the last minutes.
+     *
+     * @param minutes Number of minutes to report, including the current one (default and maximum: the window size)
+     * @return Totals, match quality, per-pixel breakdown and per-minute series
+     */
+    @ReadOperation
+    public Map<String, Object> report(@Nullable Integer minutes) {
+        int span = minutes == null ? windowMinutes : Math.max(1, Math.min(windowMinutes, minutes));
+        long now = currentMinute();
+
+        PixelCounters total = new PixelCounters();
+        long withFbp = 0, withFbc = 0, withEmail = 0, withPhone = 0;
+        Map<String, PixelCounters> pixels = new TreeMap<>();
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (long minute = now - span + 1; minute <= now; minute++) {
+            Bucket bucket = buckets.get(slot(minute));
+            if (bucket == null || bucket.minute != minute) {
+                continue;
+            }
+            total.merge(bucket.total);
+            withFbp += bucket.withFbp.sum();
+            withFbc += bucket.withFbc.sum();
+            withEmail += bucket.withEmail.sum();
+            withPhone += bucket.withPhone.sum();
+            bucket.pixels.forEach((pixelId, counters) -> pixels.computeIfAbsent(pixelId, id -> new PixelCounters()).merge(counters));
+
+            Map<String, Object> point = bucket.total.toMap();
+            point.put("minute", minute * 60_000L);
+            series.add(point);
+        }
+
+        long events = total.events.sum();
+        Map<String, Object> matchQuality = new LinkedHashMap<>();
+        matchQuality.put("fbp", ratio(withFbp, events));
+        matchQuality.put("fbc", ratio(withFbc, events));
+        matchQuality.put("email", ratio(withEmail, events));
+        matchQuality.put("phone", ratio(withPhone, events));
+
+        Map<String, Object> byPixel = new LinkedHashMap<>();
+        pixels.forEach((pixelId, counters) -> byPixel.put(pixelId, counters.toMap()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("minutes", span);
+        report.put("totals", total.toMap());
+        report.put("matchQuality", matchQuality);
+        report.put("pixels", byPixel);
+        report.put("perMinute", series);
+        return report;
+    }
+
+    /**
+     * Returns the bucket of a minute, replacing the stale bucket of its slot if needed.
+     * Increments racing with the replacement may land in the discarded bucket; that loss is accepted.
+     */
+    private Bucket bucket(long minute) {
+        int slot = slot(minute);
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.minute == minute) {
+                return bucket;
+            }
+            if (bucket != null && bucket.minute > minute) {
+                return bucket; // Clock went backwards; count in the newer minute
+            }
+            Bucket fresh = new Bucket(minute);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) windowMinutes);
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000L;
+    }
+
+    private static boolean present(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    private static class Bucket {
+        private final long minute;
+        private final PixelCounters total = new PixelCounters();
+        private final LongAdder withFbp = new LongAdder();
+        private final LongAdder withFbc = new LongAdder();
+        private final LongAdder withEmail = new LongAdder();
+        private final LongAdder withPhone = new LongAdder();
+        private final ConcurrentMap<String, PixelCounters> pixels = new ConcurrentHashMap<>();
+
+        private Bucket(long minute) {
+            this.minute = minute;
+        }
+    }
+
+    private static class PixelCounters {
+        private final LongAdder events = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final DoubleAdder revenue = new DoubleAdder(); // Value of successfully sent events only
+
+        private void add(boolean success, Float value) {
+            events.increment();
+            if (!success) {
+                errors.increment();
+            } else if (value != null) {
+                revenue.add(value);
+            }
+        }
+
+        private void merge(PixelCounters other) {
+            events.add(other.events.sum());
+            errors.add(other.errors.sum());
+            revenue.add(other.revenue.sum());
+        }
+
+        private Map<String, Object> toMap() {
+            long eventCount = events.sum();
+            long errorCount = errors.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("events", eventCount);
+            map.put("errors", errorCount);
+            map.put("errorRate", ratio(errorCount, eventCount));
+            map.put("revenue", revenue.sum());
+            return map;
+        }
+    }
+}
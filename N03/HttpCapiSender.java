@@ -0,0 +1,364 @@
+package com.psc.sw.website.service.sw;
+
+import com.facebook.ads.sdk.serverside.Content;
+import com.facebook.ads.sdk.serverside.CustomData;
+import com.facebook.ads.sdk.serverside.Event;
+import com.facebook.ads.sdk.serverside.UserData;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.psc.sw.website.exception.CapiRequestRejectedException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lean Conversions API sender: events are serialized by hand into a per-thread reusable buffer and posted
+ * over a shared, multiplexed HTTP/2 connection of the JDK HttpClient, without APIContext, EventRequest or Gson
+ * (Gson only parses error responses).
+ * The JSON mirrors what the SDK sends for the fields we use (snake_case names in SDK field order, nulls omitted,
+ * Gson's HTML-safe escaping); emails and phone numbers are normalized and SHA-256 hashed like the SDK does.
+ * Enabled with meta.capi.client=http.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "meta.capi.client", havingValue = "http")
+public class HttpCapiSender implements CapiSender {
+
+    private static final int MAX_POOLED_BUFFER = 1024 * 1024; // Larger buffers are not kept between requests
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<JsonBuffer> BUFFERS = ThreadLocal.withInitial(JsonBuffer::new);
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Tracer tracer;
+    private final HttpClient httpClient;
+    private final String endpointPrefix;
+    private final Duration timeout;
+
+    public HttpCapiSender(Tracer tracer,
+                          @Value("${meta.capi.http.graph-url:https://graph.facebook.com}") String graphUrl,
+                          @Value("${meta.capi.http.graph-version:v18.0}") String graphVersion,
+                          @Value("${meta.capi.http.timeout-millis:10000}") long timeoutMillis) {
+        this.tracer = tracer;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(timeoutMillis))
+                .build();
+        this.endpointPrefix = graphUrl + "/" + graphVersion + "/";
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    @Override
+    public void send(String pixelId, String accessToken, List<Event> events) throws Exception {
+        JsonBuffer json = BUFFERS.get();
+        json.reset();
+        writeRequest(json, accessToken, events);
+        // The body publisher reads the buffer while send() blocks; the buffer is only reused afterwards
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpointPrefix + pixelId + "/events"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.bytes, 0, json.size))
+                .build();
+
+        Span span = tracer.spanBuilder("meta POST /events")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("request.type", events.get(0).getEventName())
+                .setAttribute("meta.pixel_id", pixelId)
+                .setAttribute("meta.event_count", events.size())
+                .setAttribute("http.request.body.size", json.size)
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            span.setAttribute("http.response.status_code", response.statusCode());
+            if (response.statusCode() != 200) {
+                String body = response.body();
+                String message = "Conversions API returned " + response.statusCode() + ": "
+                        + (body.length() > 500 ? body.substring(0, 500) : body);
+                if (response.statusCode() == 400) {
+                    // 400 also covers bad tokens (190) and unknown pixels (100/33); only invalid events may be bisected
+                    CapiRequestRejectedException rejected = CapiRequestRejectedException.fromGraphError(parseError(body), message, null);
+                    if (rejected != null) {
+                        throw rejected;
+                    }
+                }
+                throw new IOException(message);
+            }
+            log.debug("Conversions API response : {}", response.body());
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+            json.trim();
+        }
+    }
+
+    /**
+     * Parses an error response with Gson; only done on the (rare) error path.
+     */
+    private static JsonObject parseError(String body) {
+        try {
+            JsonElement element = JsonParser.parseString(body);
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeRequest(JsonBuffer json, String accessToken, List<Event> events) {
+        json.raw("{\"data\":[");
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                json.raw(',');
+            }
+            writeEvent(json, events.get(i));
+        }
+        json.raw("],\"access_token\":");
+        json.string(accessToken);
+        json.raw('}');
+    }
+
+    private static void writeEvent(JsonBuffer json, Event event) {
+        json.raw('{');
+        json.field("event_name", event.getEventName());
+        json.field("event_time", event.getEventTime());
+        json.field("event_source_url", event.getEventSourceUrl());
+        json.field("event_id", event.getEventId());
+        if (event.getUserData() != null) {
+            json.name("user_data");
+            writeUserData(json, event.getUserData());
+        }
+        if (event.getCustomData() != null) {
+            json.name("custom_data");
+            writeCustomData(json, event.getCustomData());
+        }
+        if (event.getActionSource() != null) {
+            json.field("action_source", event.getActionSource().toString());
+        }
+        json.end('}');
+    }
+
+    private static void writeUserData(JsonBuffer json, UserData userData) {
+        json.raw('{');
+        writeHashedArray(json, "em", userData.getEmails(), false);
+        writeHashedArray(json, "ph", userData.getPhones(), true);
+        json.field("client_ip_address", userData.getClientIpAddress());
+        json.field("client_user_agent", userData.getClientUserAgent());
+        json.field("fbc", userData.getFbc());
+        json.field("fbp", userData.getFbp());
+        json.end('}');
+    }
+
+    private static void writeCustomData(JsonBuffer json, CustomData customData) {
+        json.raw('{');
+        if (customData.getValue() != null) {
+            json.name("value");
+            json.raw(customData.getValue().toString()); // Same rendering as Gson (e.g. 10000.0)
+            json.raw(',');
+        }
+        json.field("currency", customData.getCurrency() == null ? null : customData.getCurrency().toLowerCase(Locale.ROOT));
+        List<Content> contents = customData.getContents();
+        if (contents != null && !contents.isEmpty()) {
+            json.name("contents");
+            json.raw('[');
+            for (int i = 0; i < contents.size(); i++) {
+                Content content = contents.get(i);
+                if (i > 0) {
+                    json.raw(',');
+                }
+                json.raw('{');
+                json.field("id", content.getProductId());
+                json.field("quantity", content.getQuantity());
+                json.field("delivery_category", content.getDeliveryCategory() == null ? null : content.getDeliveryCategory().toString());
+                json.end('}');
+            }
+            json.raw("],");
+        }
+        json.end('}');
+    }
+
+    /**
+     * Writes a list of PII values as SHA-256 hex digests (values that already are digests are passed through).
+     */
+    private static void writeHashedArray(JsonBuffer json, String name, List<String> values, boolean phone) {
+        if (values == null) {
+            return;
+        }
+        boolean open = false;
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            String normalized = phone ? value.replaceAll("[^0-9]", "") : value.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            if (!open) {
+                json.name(name);
+                json.raw('[');
+                open = true;
+            } else {
+                json.raw(',');
+            }
+            json.raw('"');
+            if (normalized.length() == 64 && normalized.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+                json.raw(normalized);
+            } else {
+                byte[] digest = SHA_256.get().digest(normalized.getBytes(StandardCharsets.UTF_8));
+                for (byte b : digest) {
+                    json.raw((char) HEX[(b >> 4) & 0xf]);
+                    json.raw((char) HEX[b & 0xf]);
+                }
+            }
+            json.raw('"');
+        }
+        if (open) {
+            json.raw("],");
+        }
+    }
+
+    /**
+     * Growable UTF-8 JSON buffer reused by one thread. Object fields are written with a trailing comma
+     * that end() removes again, which keeps optional fields cheap to skip.
+     */
+    private static class JsonBuffer {
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        private void reset() {
+            size = 0;
+        }
+
+        private void trim() {
+            if (bytes.length > MAX_POOLED_BUFFER) {
+                bytes = new byte[4096];
+            }
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        private void raw(char c) {
+            ensure(1);
+            bytes[size++] = (byte) c;
+        }
+
+        private void raw(String ascii) {
+            ensure(ascii.length());
+            for (int i = 0; i < ascii.length(); i++) {
+                bytes[size++] = (byte) ascii.charAt(i);
+            }
+        }
+
+        private void name(String name) {
+            raw('"');
+            raw(name);
+            raw("\":");
+        }
+
+        private void field(String name, String value) {
+            if (value != null) {
+                name(name);
+                string(value);
+                raw(',');
+            }
+        }
+
+        private void field(String name, Long value) {
+            if (value != null) {
+                name(name);
+                raw(Long.toString(value));
+                raw(',');
+            }
+        }
+
+        private void end(char close) {
+            if (bytes[size - 1] == ',') {
+                size--;
+            }
+            raw(close);
+        }
+
+        /**
+         * Writes a JSON string with Gson's default (HTML-safe) escaping; other characters are encoded as UTF-8.
+         */
+        private void string(String value) {
+            raw('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> raw("\\\"");
+                    case '\\' -> raw("\\\\");
+                    case '\n' -> raw("\\n");
+                    case '\r' -> raw("\\r");
+                    case '\t' -> raw("\\t");
+                    case '\b' -> raw("\\b");
+                    case '\f' -> raw("\\f");
+                    case '<', '>', '&', '=', '\'', '\u2028', '\u2029' -> unicodeEscape(c);
+                    default -> {
+                        if (c < 0x20) {
+                            unicodeEscape(c);
+                        } else if (c < 0x80) {
+                            raw(c);
+                        } else if (c < 0x800) {
+                            ensure(2);
+                            bytes[size++] = (byte) (0xc0 | (c >> 6));
+                            bytes[size++] = (byte) (0x80 | (c & 0x3f));
+                        } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                            ensure(4);
+                            bytes[size++] = (byte) (0xf0 | (codePoint >> 18));
+                            bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                            bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                            bytes[size++] = (byte) (0x80 | (codePoint & 0x3f));
+                        } else {
+                            ensure(3);
+                            bytes[size++] = (byte) (0xe0 | (c >> 12));
+                            bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                            bytes[size++] = (byte) (0x80 | (c & 0x3f));
+                        }
+                    }
+                }
+            }
+            raw('"');
+        }
+
+        private void unicodeEscape(char c) {
+            raw("\\u");
+            raw((char) HEX[(c >> 12) & 0xf]);
+            raw((char) HEX[(c >> 8) & 0xf]);
+            raw((char) HEX[(c >> 4) & 0xf]);
+            raw((char) HEX[c & 0xf]);
+        }
+    }
+}
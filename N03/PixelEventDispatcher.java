@@ -0,0 +1,267 @@
+package com.psc.sw.website.service.sw;
+
+import com.facebook.ads.sdk.serverside.Event;
+import com.psc.sw.website.exception.CapiRequestRejectedException;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches Conversions API events through one lock-free queue per pixel and access token.
+ * Request threads only enqueue; a work-stealing ForkJoinPool drains the queues. Each drain step sends at most
+ * one batch and then reschedules itself behind the other pixels' work, and each pixel has its own in-flight
+ * limit, so a hot pixel's backlog or a slow Graph response for one token cannot hold up the others.
+ * Blocking sends run as managed blocks, so the pool adds threads instead of starving other pixels.
+ * A batch rejected for invalid event data is bisected and resent, so one malformed event only fails its own caller.
+ * Lanes are keyed by client-supplied pixel IDs and tokens, so idle lanes are removed and their number is capped.
+ */
+@Slf4j
+@Service
+public class PixelEventDispatcher {
+
+    private final CapiSender sender;
+    private final ForkJoinPool pool;
+    private final int maxInFlightPerPixel;
+    private final int maxBatchSize;
+    private final int maxQueuedPerPixel;
+    private final int maxLanes;
+    private final ConcurrentMap<String, PixelLane> lanes = new ConcurrentHashMap<>();
+
+    public PixelEventDispatcher(CapiSender sender,
+                                @Value("${meta.capi.dispatch.parallelism:0}") int parallelism,
+                                @Value("${meta.capi.dispatch.max-in-flight-per-pixel:2}") int maxInFlightPerPixel,
+                                @Value("${meta.capi.dispatch.max-batch-size:100}") int maxBatchSize,
+                                @Value("${meta.capi.dispatch.max-queued-per-pixel:10000}") int maxQueuedPerPixel,
+                                @Value("${meta.capi.dispatch.max-lanes:1000}") int maxLanes) {
+        this.sender = sender;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                (thread, e) -> log.error("Uncaught error in CAPI dispatcher: {}", e.getMessage()),
+                true); // FIFO local queues: drain steps of different pixels run in submission order
+        this.maxInFlightPerPixel = Math.max(1, maxInFlightPerPixel);
+        this.maxBatchSize = Math.min(1000, Math.max(1, maxBatchSize)); // The Conversions API accepts up to 1000 events per request
+        this.maxQueuedPerPixel = maxQueuedPerPixel;
+        this.maxLanes = Math.max(1, maxLanes);
+    }
+
+    /**
+     * Queues an event for its pixel.
+     *
+     * @param pixelId     ID of the pixel receiving the event
+     * @param accessToken Access token authorized for the pixel
+     * @param event       Event to send
+     * @return Future completed with "Success" or the error of the request that carried the event
+     * @throws RejectedExecutionException If the pixel's queue is full, or too many pixels are active
+     */
+    public CompletableFuture<String> submit(String pixelId, String accessToken, Event event) {
+        String key = pixelId + "|" + accessToken;
+        PixelLane lane = lanes.get(key);
+        if (lane == null) {
+            if (lanes.size() >= maxLanes) {
+                throw new RejectedExecutionException("Too many active pixels; rejected event for pixel " + pixelId);
+            }
+            lane = lanes.computeIfAbsent(key, k -> new PixelLane(k, pixelId, accessToken));
+        }
+        if (lane.queued.incrementAndGet() > maxQueuedPerPixel) {
+            lane.queued.decrementAndGet();
+            throw new RejectedExecutionException("Too many queued events for pixel " + pixelId);
+        }
+        PendingEvent pending = new PendingEvent(event);
+        lane.queue.add(pending);
+        schedule(lane);
+        return pending.result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void schedule(PixelLane lane) {
+        if (lane.inFlight.get() < maxInFlightPerPixel && !lane.queue.isEmpty() && lane.scheduled.compareAndSet(false, true)) {
+            pool.execute(() -> drain(lane));
+        }
+    }
+
+    /**
+     * Sends at most one batch of a lane, then yields to the other lanes.
+     */
+    private void drain(PixelLane lane) {
+        if (lane.inFlight.get() < maxInFlightPerPixel) {
+            List<PendingEvent> batch = new ArrayList<>();
+            PendingEvent pending;
+            while (batch.size() < maxBatchSize && (pending = lane.queue.poll()) != null) {
+                batch.add(pending);
+            }
+            if (!batch.isEmpty()) {
+                lane.queued.addAndGet(-batch.size());
+                lane.inFlight.incrementAndGet();
+                pool.execute(() -> send(lane, batch));
+                pool.execute(() -> drain(lane)); // Still scheduled; queued behind other lanes' work
+                return;
+            }
+        }
+        lane.scheduled.set(false);
+        schedule(lane); // Events may have arrived, or a send completed, after the checks above
+        retireIfIdle(lane);
+    }
+
+    /**
+     * Removes a lane with nothing queued, scheduled or in flight. A submit racing with the removal still adds to
+     * the removed lane object, which drains it as usual; the next submit for the key creates a new lane.
+     */
+    private void retireIfIdle(PixelLane lane) {
+        if (lane.queued.get() == 0 && lane.inFlight.get() == 0 && !lane.scheduled.get()) {
+            lanes.remove(lane.key, lane);
+        }
+    }
+
+    private void send(PixelLane lane, List<PendingEvent> batch) {
+        // Run under the trace of the request that queued the first event
+        try (Scope ignored = batch.get(0).context.makeCurrent()) {
+            sendOrSplit(lane, batch);
+        } finally {
+            lane.inFlight.decrementAndGet();
+            schedule(lane);
+            retireIfIdle(lane);
+        }
+    }
+
+    /**
+     * Sends a batch; if the Conversions API rejects it for invalid event data, bisects it and resends the halves,
+     * so only the callers of the offending events see the error.
+     */
+    private void sendOrSplit(PixelLane lane, List<PendingEvent> batch) {
+        settle(lane, batch, trySend(lane, batch));
+    }
+
+    private void settle(PixelLane lane, List<PendingEvent> batch, Exception error) {
+        if (error instanceof CapiRequestRejectedException rejected && batch.size() > 1) {
+            bisect(lane, batch, rejected);
+        } else {
+            complete(lane, batch, error);
+        }
+    }
+
+    /**
+     * Resends both halves of a rejected batch. When both halves are rejected with the same error, every event is
+     * invalid in the same way, so bisecting further would only multiply Graph calls; all events fail with that error.
+     */
+    private void bisect(PixelLane lane, List<PendingEvent> batch, CapiRequestRejectedException rejected) {
+        log.debug("CAPI rejected a batch of {} events for pixel {} ({}); splitting it", batch.size(), lane.pixelId, rejected.getGraphError());
+        int middle = batch.size() / 2;
+        List<PendingEvent> left = batch.subList(0, middle);
+        List<PendingEvent> right = batch.subList(middle, batch.size());
+        Exception leftError = trySend(lane, left);
+        Exception rightError = trySend(lane, right);
+        if (leftError instanceof CapiRequestRejectedException leftRejected
+                && rightError instanceof CapiRequestRejectedException rightRejected
+                && leftRejected.getGraphError().equals(rightRejected.getGraphError())) {
+            complete(lane, batch, leftError);
+            return;
+        }
+        settle(lane, left, leftError);
+        settle(lane, right, rightError);
+    }
+
+    /**
+     * @return Null if the batch was sent, otherwise the error
+     */
+    private Exception trySend(PixelLane lane, List<PendingEvent> batch) {
+        List<Event> events = new ArrayList<>(batch.size());
+        batch.forEach(pending -> events.add(pending.event));
+        SendBlocker blocker = new SendBlocker(lane, events);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+        return blocker.error;
+    }
+
+    private void complete(PixelLane lane, List<PendingEvent> batch, Exception error) {
+        String result;
+        if (error == null) {
+            result = "Success";
+        } else {
+            log.error("CAPI request for pixel {} failed ({} events): {}", lane.pixelId, batch.size(), error.getMessage());
+            result = error.toString();
+        }
+        for (PendingEvent pending : batch) {
+            pending.result.complete(result);
+        }
+    }
+
+    /**
+     * Lets the pool compensate for a worker blocked on the Graph API.
+     */
+    private class SendBlocker implements ForkJoinPool.ManagedBlocker {
+        private final PixelLane lane;
+        private final List<Event> events;
+        private boolean done;
+        private Exception error;
+
+        private SendBlocker(PixelLane lane, List<Event> events) {
+            this.lane = lane;
+            this.events = events;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                sender.send(lane.pixelId, lane.accessToken, events);
+            } catch (Exception e) {
+                error = e;
+            }
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+
+    private static class PixelLane {
+        private final String key;
+        private final String pixelId;
+        private final String accessToken;
+        private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>(); // Lock-free, many producers
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private PixelLane(String key, String pixelId, String accessToken) {
+            this.key = key;
+            this.pixelId = pixelId;
+            this.accessToken = accessToken;
+        }
+    }
+
+    private static class PendingEvent {
+        private final Event event;
+        private final Context context = Context.current();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        private PendingEvent(Event event) {
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.psc.sw.website.service.sw;
+
+import com.facebook.ads.sdk.serverside.ActionSource;
+import com.facebook.ads.sdk.serverside.Content;
+import com.facebook.ads.sdk.serverside.CustomData;
+import com.facebook.ads.sdk.serverside.DeliveryCategory;
+import com.facebook.ads.sdk.serverside.Event;
+import com.facebook.ads.sdk.serverside.UserData;
+import com.psc.sw.website.component.ConversionMetrics;
+import com.psc.sw.website.dto.PixelDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds Conversions API events from pixel requests and sends them through the PixelEventDispatcher.
+ */
+@Slf4j
+@Service
+public class PixelEventService {
+
+    private static final String SUCCESS = "Success";
+
+    private final PixelEventDispatcher dispatcher;
+    private final ConversionMetrics conversionMetrics;
+    private final long timeoutMillis;
+
+    public PixelEventService(PixelEventDispatcher dispatcher, ConversionMetrics conversionMetrics,
+                             @Value("${meta.capi.dispatch.timeout-millis:30000}") long timeoutMillis) {
+        this.dispatcher = dispatcher;
+        this.conversionMetrics = conversionMetrics;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Sends a purchase event and waits for the result of the request that carried it.
+     *
+     * @param pixelDto        Pixel, token and purchase data from the client
+     * @param clientIpAddress IP address of the client
+     * @param clientUserAgent User agent of the client
+     * @return "Success", or a description of the error
+     */
+    public String sendPurchase(PixelDto pixelDto, String clientIpAddress, String clientUserAgent) {
+        String result = send(pixelDto, buildPurchaseEvent(pixelDto, clientIpAddress, clientUserAgent));
+        conversionMetrics.record(pixelDto, SUCCESS.equals(result));
+        return result;
+    }
+
+    private String send(PixelDto pixelDto, Event purchaseEvent) {
+        try {
+            return dispatcher.submit(pixelDto.getPixelId(), pixelDto.getTokenId(), purchaseEvent)
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException | TimeoutException e) {
+            log.warn("Purchase event {} for pixel {} not sent: {}", pixelDto.getEventId(), pixelDto.getPixelId(), e.toString());
+            return e.toString();
+        } catch (ExecutionException e) {
+            return e.getCause().toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e.toString();
+        }
+    }
+
+    /**
+     * Builds a "Purchase" website event.
+     *
+     * @param pixelDto        Pixel, token and purchase data from the client
+     * @param clientIpAddress IP address of the client
+     * @param clientUserAgent User agent of the client
+     * @return The event
+     */
+    public Event buildPurchaseEvent(PixelDto pixelDto, String clientIpAddress, String clientUserAgent) {
+        UserData userData = new UserData()
+                .emails(Arrays.asList(pixelDto.getEmail()))
+                .phones(Arrays.asList(pixelDto.getPhone()))
+                .clientIpAddress(clientIpAddress)
+                .clientUserAgent(clientUserAgent)
+                .fbc(pixelDto.getFbc())
+                .fbp(pixelDto.getFbp());
+
+        Content content = new Content()
+                .productId(pixelDto.getProductId())
+                .quantity(1L)
+                .deliveryCategory(DeliveryCategory.home_delivery);
+
+        CustomData customData = new CustomData()
+                .addContent(content)
+                .currency("krw")
+                .value(pixelDto.getProductValue());
+
+        Event purchaseEvent = new Event();
+        purchaseEvent.eventName("Purchase")
+                .eventTime(System.currentTimeMillis() / 1000L)
+                .eventId(pixelDto.getEventId())
+                .userData(userData)
+                .customData(customData)
+                .eventSourceUrl(pixelDto.getUrlId())
+                .actionSource(ActionSource.website);
+        return purchaseEvent;
+    }
+}
@@ -0,0 +1,68 @@
+package com.psc.sw.website.service.sw;
+
+import com.facebook.ads.sdk.APIContext;
+import com.facebook.ads.sdk.APIException;
+import com.facebook.ads.sdk.serverside.Event;
+import com.facebook.ads.sdk.serverside.EventRequest;
+import com.facebook.ads.sdk.serverside.EventResponse;
+import com.psc.sw.website.exception.CapiRequestRejectedException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Conversions API sender built on the Facebook Business SDK (EventRequest). Default unless meta.capi.client=http.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "meta.capi.client", havingValue = "sdk", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SdkCapiSender implements CapiSender {
+
+    private final Tracer tracer;
+
+    @Override
+    public void send(String pixelId, String accessToken, List<Event> events) throws Exception {
+        APIContext context = new APIContext(accessToken);
+        if (log.isDebugEnabled()) {
+            context.enableDebug(true);
+            context.setLogger(System.out);
+        }
+        EventRequest eventRequest = new EventRequest(pixelId, context);
+        eventRequest.data(events);
+
+        // Outbound Conversions API call (Graph API), traced as a child of the endpoint span
+        Span span = tracer.spanBuilder("meta EventRequest.execute")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("request.type", events.get(0).getEventName())
+                .setAttribute("meta.pixel_id", pixelId)
+                .setAttribute("meta.event_count", events.size())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            EventResponse response = eventRequest.execute();
+            log.debug("Standard API response : {}", response);
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            if (e instanceof APIException.FailedRequestException failed) {
+                // The SDK does not expose the HTTP status; classify by the Graph error in the response body
+                CapiRequestRejectedException rejected = CapiRequestRejectedException.fromGraphError(
+                        failed.getRawResponseAsJsonObject(), e.getMessage(), e);
+                if (rejected != null) {
+                    throw rejected;
+                }
+            }
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package com.psc.sw.website.controller.sw;
 
-import com.facebook.ads.sdk.APIContext;
-import com.facebook.ads.sdk.APIException;
-import com.facebook.ads.sdk.serverside.*;
 import com.psc.sw.website.component.ProfileComponent;
 import com.psc.sw.website.dto.AppId;
 import com.psc.sw.website.dto.PixelDto;
 import com.psc.sw.website.entity.Members;
 import com.psc.sw.website.repository.MemberRepository;
+import com.psc.sw.website.service.sw.PixelEventService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +14,6 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
 import java.util.Map;
 
 
@@ -28,6 +25,7 @@ public class SwController {
 
     private final ProfileComponent profileComponent;
     private final MemberRepository memberRepository;
+    private final PixelEventService pixelEventService;
 
     @GetMapping("/typo")
     public String typoHandler(OAuth2AuthenticationToken auth, Model model) {
@@ -60,62 +58,12 @@ public class SwController {
         String clientIpAddress = request.getRemoteAddr();
         String clientUserAgent = request.getHeader("User-Agent");
 
-        log.debug(pixelDto.toString());
-        String ACCESS_TOKEN = pixelDto.getTokenId();
-        String PIXEL_ID = pixelDto.getPixelId();
-        String URL_ID = pixelDto.getUrlId();
-        String EMAIL = pixelDto.getEmail();
-        String PHONE = pixelDto.getPhone();
-        String EVENT_ID = pixelDto.getEventId();
-        String PRODUCT_ID = pixelDto.getProductId();
-        String FBP = pixelDto.getFbp();
-        String FBC = pixelDto.getFbc();
+        // Identifiers only: the DTO carries the customer's email and phone number
+        log.atDebug().addKeyValue("pixelId", pixelDto.getPixelId()).addKeyValue("eventId", pixelDto.getEventId())
+                .log("Pixel event received");
 
-        APIContext context = new APIContext(ACCESS_TOKEN).enableDebug(true);
-        context.setLogger(System.out);
-
-        UserData userData = new UserData()
-                .emails(Arrays.asList(EMAIL))
-                .phones(Arrays.asList(PHONE))
-                .clientIpAddress(clientIpAddress)
-                .clientUserAgent(clientUserAgent)
-                .fbc(FBP)
-                .fbp(FBC);
-
-        Content content = new Content()
-                .productId(PRODUCT_ID)
-                .quantity(1L)
-                .deliveryCategory(DeliveryCategory.home_delivery);
-
-        CustomData customData = new CustomData()
-                .addContent(content)
-                .currency("krw")
-                .value(pixelDto.getProductValue());
-
-        Event purchaseEvent = new Event();
-        purchaseEvent.eventName("Purchase")
-                .eventTime(System.currentTimeMillis() / 1000L)
-                .eventId(EVENT_ID)
-                .userData(userData)
-                .customData(customData)
-                .eventSourceUrl(URL_ID)
-                .actionSource(ActionSource.website);
-
-        EventRequest eventRequest = new EventRequest(PIXEL_ID, context);
-        eventRequest.addDataItem(purchaseEvent);
-
-
-        String result = "Success";
-        pixelDto.setResult(result);
-        try {
-            EventResponse response = eventRequest.execute();
-            log.debug(String.format("Standard API response : %s ", response));
-        } catch (APIException e) {
-
-            e.printStackTrace();
-            pixelDto.setResult(e.toString());
-
-        }
+        // Queued per pixel and sent in batches; waits for the result of the request that carried this event
+        pixelDto.setResult(pixelEventService.sendPurchase(pixelDto, clientIpAddress, clientUserAgent));
         return pixelDto;
     }
 }